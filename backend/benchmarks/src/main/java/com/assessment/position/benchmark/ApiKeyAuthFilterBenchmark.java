@@ -0,0 +1,85 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.security.ApiKeyAuthFilter;
+import com.assessment.position.security.ApiKeyRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the API key filter, including the exclusion matchers it evaluates
+ * before deciding whether to authenticate. Uses the same exclusions as SecurityConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiKeyAuthFilterBenchmark {
+    private static final String API_KEY = "1234567890";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    /**
+     * authenticated: valid key on an API path; rejected: wrong key; throttled: valid key over its rate
+     * limit (429); excluded: Swagger path that skips the check.
+     */
+    @Param({"authenticated", "rejected", "throttled", "excluded"})
+    private String scenario;
+
+    private ApiKeyAuthFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        filter = scenario.equals("throttled")
+                ? new ApiKeyAuthFilter(ApiKeyRegistry.parse(API_KEY, null, new ApiKeyRegistry.Limits(0.001, 1, 0)))
+                : new ApiKeyAuthFilter(API_KEY);
+        filter.setExcludeUrls(
+            "/swagger-ui.html",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/h2-console/**"
+        );
+
+        request = switch (scenario) {
+            case "authenticated", "throttled" -> apiRequest(API_KEY);
+            case "rejected" -> apiRequest("wrong-key");
+            case "excluded" -> new MockHttpServletRequest("GET", "/swagger-ui/index.html");
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    @Benchmark
+    public int doFilter() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest apiRequest(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/positions");
+        request.addHeader("X-API-KEY", apiKey);
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.exception.GlobalExceptionHandler;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Error responses through the DispatcherServlet: exception resolution, the matching
+ * GlobalExceptionHandler method and JSON rendering of the error map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    @Param({"notFound", "illegalArgument", "validation", "unexpected"})
+    private String path;
+
+    private MockMvc mockMvc;
+    private RequestBuilder request;
+
+    @Setup
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        request = switch (path) {
+            case "validation" -> post("/validation").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"\"}");
+            default -> get("/" + path);
+        };
+    }
+
+    @Benchmark
+    public String handle() throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse().getContentAsString();
+    }
+
+    @RestController
+    static class FailingController {
+
+        record Payload(@NotBlank String title) {
+        }
+
+        @GetMapping("/notFound")
+        void notFound() {
+            throw new EntityNotFoundException("Position not found with id: 42");
+        }
+
+        @GetMapping("/illegalArgument")
+        void illegalArgument() {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        @PostMapping("/validation")
+        void validation(@Valid @RequestBody Payload payload) {
+        }
+
+        @GetMapping("/unexpected")
+        void unexpected() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body cost of {@code GET /api/positions}: a {@link Page} of positions with their
+ * recruiter and department, written by an ObjectMapper configured the way Spring Boot builds it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Position> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+        recruiter.setName("John Smith");
+        recruiter.setEmail("john.smith@example.com");
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("Engineering");
+        department.setCode("ENG");
+
+        List<Position> content = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Position position = new Position();
+            position.setId(i);
+            position.setTitle("Senior Software Engineer " + i);
+            position.setDescription("Build and operate the services behind the position management platform.");
+            position.setLocation("New York");
+            position.setStatus(PositionStatus.OPEN);
+            position.setRecruiter(recruiter);
+            position.setDepartment(department);
+            position.setBudget(new BigDecimal("120000.00"));
+            position.setClosingDate(LocalDate.of(2030, 1, 1).plusDays(i));
+            content.add(position);
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), pageSize * 10L);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
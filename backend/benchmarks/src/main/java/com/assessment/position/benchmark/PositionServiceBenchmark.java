@@ -0,0 +1,108 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.PositionManagementApplication;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.service.PositionService;
+import com.assessment.position.service.ReferenceDataService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls against the application's own H2 schema and seed data, with the full Spring
+ * context (transactions, caches, events) so framework upgrades show up in the numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PositionServiceBenchmark {
+    private static final int SEEDED_POSITIONS = 100;
+
+    private ConfigurableApplicationContext context;
+    private PositionService positionService;
+    private Long recruiterId;
+    private Long departmentId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PositionManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarkdb",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.assessment.position=WARN");
+        positionService = context.getBean(PositionService.class);
+
+        ReferenceDataService referenceDataService = context.getBean(ReferenceDataService.class);
+        recruiterId = referenceDataService.getAllRecruiters().items().get(0).getId();
+        departmentId = referenceDataService.getAllDepartments().items().get(0).getId();
+
+        // data.sql seeds no positions; give every page size a full page to read
+        for (int i = 0; i < SEEDED_POSITIONS; i++) {
+            positionService.createPosition(newPosition());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Position> getAllPositions(PageSize page) {
+        return positionService.getAllPositions(PageRequest.of(0, page.size));
+    }
+
+    @Benchmark
+    public Position createPosition() {
+        return positionService.createPosition(newPosition());
+    }
+
+    @State(Scope.Benchmark)
+    public static class PageSize {
+        @Param({"20", "100"})
+        int size;
+    }
+
+    private Position newPosition() {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(recruiterId);
+        Department department = new Department();
+        department.setId(departmentId);
+
+        Position position = new Position();
+        position.setTitle("Benchmark Engineer");
+        position.setDescription("Created by PositionServiceBenchmark");
+        position.setLocation("Remote");
+        position.setStatus(PositionStatus.DRAFT);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setBudget(new BigDecimal("85000.00"));
+        position.setClosingDate(LocalDate.of(2030, 1, 1));
+        return position;
+    }
+}
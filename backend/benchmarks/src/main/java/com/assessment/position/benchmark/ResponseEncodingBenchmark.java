@@ -0,0 +1,109 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time of a {@code GET /api/positions} page in each encoding the API negotiates:
+ * plain JSON, JSON through gzip as Tomcat's compression applies it, Smile and CBOR. The encoded
+ * size of every variant is printed once per trial, since bytes on the wire are half the trade-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    @Param({"json", "json-gzip", "smile", "cbor"})
+    private String encoding;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private Page<Position> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (encoding) {
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        gzip = encoding.equals("json-gzip");
+        page = page(pageSize);
+
+        System.out.printf("%n[encoding] %-9s pageSize=%-4d %,d bytes%n", encoding, pageSize, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(page);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Page<Position> page(int size) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+        recruiter.setName("John Smith");
+        recruiter.setEmail("john.smith@example.com");
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("Engineering");
+        department.setCode("ENG");
+
+        List<Position> content = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Position position = new Position();
+            position.setId(i);
+            position.setTitle("Senior Software Engineer " + i);
+            position.setDescription("Build and operate the services behind the position management platform.");
+            position.setLocation("New York");
+            position.setStatus(PositionStatus.OPEN);
+            position.setRecruiter(recruiter);
+            position.setDepartment(department);
+            position.setBudget(new BigDecimal("120000.00"));
+            position.setClosingDate(LocalDate.of(2030, 1, 1).plusDays(i));
+            content.add(position);
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), size * 10L);
+    }
+}
@@ -0,0 +1,113 @@
+package com.assessment.position.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Samples the server's heap, live data after GC, connection pool and thread gauges from
+ * {@code /actuator/prometheus} during a run and reports how each one drifted, as a least-squares
+ * slope per hour. On a soak run a heap or live-data slope that stays positive across hours is a
+ * leak; a growing pending-connections count is pool starvation.
+ */
+public class DriftMonitor {
+    private static final Map<String, Predicate<String>> GAUGES = new LinkedHashMap<>();
+
+    static {
+        GAUGES.put("heap_used_mb", line -> line.startsWith("jvm_memory_used_bytes{") && line.contains("area=\"heap\""));
+        GAUGES.put("live_data_after_gc_mb", line -> line.startsWith("jvm_gc_live_data_size_bytes"));
+        GAUGES.put("pool_active", line -> line.startsWith("hikaricp_connections_active{"));
+        GAUGES.put("pool_pending", line -> line.startsWith("hikaricp_connections_pending{"));
+        GAUGES.put("pool_total", line -> line.startsWith("hikaricp_connections{"));
+        GAUGES.put("threads", line -> line.startsWith("jvm_threads_live_threads"));
+    }
+
+    private final HttpClient httpClient;
+    private final HttpRequest request;
+    private final PrintStream csv;
+    private final List<double[]> samples = new ArrayList<>();
+
+    public DriftMonitor(HttpClient httpClient, URI baseUrl, PrintStream csv) {
+        this.httpClient = httpClient;
+        this.request = HttpRequest.newBuilder(baseUrl.resolve("/actuator/prometheus")).GET().build();
+        this.csv = csv;
+        csv.println("elapsed_s," + String.join(",", GAUGES.keySet()));
+    }
+
+    /** Takes one sample; a failed scrape is skipped rather than failing the run. */
+    public synchronized void sample(double elapsedSeconds) {
+        String body;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return;
+            }
+            body = response.body();
+        } catch (IOException e) {
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        double[] sample = new double[GAUGES.size() + 1];
+        sample[0] = elapsedSeconds;
+        List<Predicate<String>> matchers = new ArrayList<>(GAUGES.values());
+        for (String line : body.lines().toList()) {
+            for (int i = 0; i < matchers.size(); i++) {
+                if (matchers.get(i).test(line)) {
+                    // Sum across memory pools and connection pools
+                    sample[i + 1] += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                }
+            }
+        }
+        sample[1] /= 1024 * 1024;
+        sample[2] /= 1024 * 1024;
+        samples.add(sample);
+
+        StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "%.0f", elapsedSeconds));
+        for (int i = 1; i < sample.length; i++) {
+            row.append(String.format(Locale.ROOT, ",%.1f", sample[i]));
+        }
+        csv.println(row);
+        csv.flush();
+    }
+
+    public synchronized void write(PrintStream out) {
+        if (samples.size() < 2) {
+            out.println("\nDrift: fewer than two samples of /actuator/prometheus; lower --drift-interval to track it");
+            return;
+        }
+        out.printf(Locale.ROOT, "%nDrift over %d samples:%n%-22s %10s %10s %10s %12s%n", samples.size(), "gauge", "first", "last", "max", "slope/h");
+        List<String> names = new ArrayList<>(GAUGES.keySet());
+        for (int i = 0; i < names.size(); i++) {
+            int column = i + 1;
+            double max = samples.stream().mapToDouble(sample -> sample[column]).max().orElse(0);
+            out.printf(Locale.ROOT, "%-22s %10.1f %10.1f %10.1f %12.2f%n", names.get(i),
+                    samples.get(0)[column], samples.get(samples.size() - 1)[column], max, slopePerHour(column));
+        }
+    }
+
+    private double slopePerHour(int column) {
+        double n = samples.size();
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        for (double[] sample : samples) {
+            double x = sample[0] / 3600;
+            sumX += x;
+            sumY += sample[column];
+            sumXY += x * sample[column];
+            sumXX += x * x;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+    }
+}
@@ -0,0 +1,184 @@
+package com.assessment.position.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome accounting per operation. Response time runs from the moment a request was
+ * scheduled to start, not from when it was actually sent, so time spent queued behind a stalled
+ * server or a saturated client is counted (coordinated-omission correction). Service time, from
+ * the actual send, is kept alongside for comparison. Values are recorded in microseconds.
+ */
+public class LatencyReport {
+    private static final long MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int PRECISION = 3;
+
+    private final Map<Operation, Recorder> responseRecorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Recorder> serviceRecorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> responseTotals = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTotals = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<String, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+    private final Histogram intervalAll = histogram();
+    private final HistogramLogWriter log;
+    private long reportedErrors;
+
+    /** One reporting interval across all operations. */
+    public record Interval(long requests, long errors, double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    public LatencyReport(Iterable<Operation> operations, PrintStream logStream, long startMillis) {
+        for (Operation operation : operations) {
+            responseRecorders.put(operation, new Recorder(MAX_MICROS, PRECISION));
+            serviceRecorders.put(operation, new Recorder(MAX_MICROS, PRECISION));
+            responseTotals.put(operation, histogram());
+            serviceTotals.put(operation, histogram());
+            outcomes.put(operation, new ConcurrentHashMap<>());
+        }
+        this.log = new HistogramLogWriter(logStream);
+        log.outputLogFormatVersion();
+        log.outputStartTime(startMillis);
+        log.setBaseTime(startMillis);
+        log.outputLegend();
+    }
+
+    /**
+     * @param outcome {@code 2xx}, the status code of a failed response, or a client-side failure
+     *                such as {@code timeout}, {@code io} or {@code dropped}
+     */
+    public void record(Operation operation, long scheduledNanos, long sentNanos, long completedNanos, String outcome) {
+        responseRecorders.get(operation).recordValue(micros(completedNanos - scheduledNanos));
+        serviceRecorders.get(operation).recordValue(micros(completedNanos - sentNanos));
+        outcomes.get(operation).computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    /** Requests the client never sent because too many were in flight; their latency is unknown. */
+    public void dropped(Operation operation) {
+        outcomes.get(operation).computeIfAbsent("dropped", key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Moves everything recorded since the last call into the totals and the interval log.
+     */
+    public synchronized Interval interval() {
+        intervalAll.reset();
+        for (Map.Entry<Operation, Recorder> entry : responseRecorders.entrySet()) {
+            Histogram response = entry.getValue().getIntervalHistogram();
+            response.setTag(entry.getKey().label());
+            responseTotals.get(entry.getKey()).add(response);
+            serviceTotals.get(entry.getKey()).add(serviceRecorders.get(entry.getKey()).getIntervalHistogram());
+            intervalAll.add(response);
+            if (response.getTotalCount() > 0) {
+                log.outputIntervalHistogram(response);
+            }
+        }
+        long errors = errors() - reportedErrors;
+        reportedErrors += errors;
+        return new Interval(intervalAll.getTotalCount(), errors,
+                millis(intervalAll.getValueAtPercentile(50)), millis(intervalAll.getValueAtPercentile(99)),
+                millis(intervalAll.getMaxValue()));
+    }
+
+    /** Discards everything recorded so far; called at the end of the warm-up. */
+    public synchronized void reset() {
+        interval();
+        responseTotals.values().forEach(Histogram::reset);
+        serviceTotals.values().forEach(Histogram::reset);
+        outcomes.values().forEach(Map::clear);
+        reportedErrors = 0;
+    }
+
+    public long requests() {
+        return outcomes.values().stream().flatMap(counts -> counts.values().stream()).mapToLong(LongAdder::sum).sum();
+    }
+
+    public long errors() {
+        return outcomes.values().stream()
+                .flatMap(counts -> counts.entrySet().stream())
+                .filter(entry -> !entry.getKey().equals("2xx"))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    /**
+     * Prints the per-operation summary and writes a percentile distribution per operation
+     * ({@code <operation>.hgrm}, loadable in the HdrHistogram plotter).
+     */
+    public synchronized void write(PrintStream out, Path directory, double seconds) throws IOException {
+        interval();
+        Histogram all = histogram();
+        out.printf(Locale.ROOT, "%n%-8s %9s %8s %7s %9s %9s %9s %9s %9s %12s%n",
+                "op", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (Operation operation : responseTotals.keySet()) {
+            Histogram response = responseTotals.get(operation);
+            long requests = count(operation);
+            long errors = requests - outcomes.get(operation).getOrDefault("2xx", new LongAdder()).sum();
+            all.add(response);
+            out.printf(Locale.ROOT, "%-8s %9d %8.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                    operation.label(), requests, requests / seconds, errors,
+                    percentile(response, 50), percentile(response, 90), percentile(response, 99), percentile(response, 99.9),
+                    millis(response.getMaxValue()), percentile(serviceTotals.get(operation), 99));
+            try (PrintStream file = new PrintStream(Files.newOutputStream(directory.resolve(operation.label() + ".hgrm")))) {
+                response.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        long requests = requests();
+        long errors = errors();
+        out.printf(Locale.ROOT, "%-8s %9d %8.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                "all", requests, requests / seconds, errors,
+                percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 99.9), millis(all.getMaxValue()));
+        try (PrintStream file = new PrintStream(Files.newOutputStream(directory.resolve("all.hgrm")))) {
+            all.outputPercentileDistribution(file, 1000.0);
+        }
+
+        out.printf(Locale.ROOT, "%nErrors: %d of %d (%.3f%%)%n", errors, requests, requests == 0 ? 0 : 100.0 * errors / requests);
+        for (Map.Entry<Operation, Map<String, LongAdder>> entry : outcomes.entrySet()) {
+            Map<String, Long> failures = new TreeMap<>();
+            entry.getValue().forEach((outcome, count) -> {
+                if (!outcome.equals("2xx")) {
+                    failures.put(outcome, count.sum());
+                }
+            });
+            if (!failures.isEmpty()) {
+                out.printf("  %-8s %s%n", entry.getKey().label(), failures);
+            }
+        }
+    }
+
+    public double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+
+    private long count(Operation operation) {
+        return outcomes.get(operation).values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static Histogram histogram() {
+        return new Histogram(MAX_MICROS, PRECISION);
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(MAX_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return millis(histogram.getValueAtPercentile(percentile));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,175 @@
+package com.assessment.position.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for {@code /api/positions}: requests start at {@code --rate} per second
+ * whatever the response times. Exits with 1 when the error rate is above {@code --max-error-rate}.
+ */
+public final class LoadTest {
+    private final LoadTestOptions options;
+    private volatile boolean measuring;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        System.exit(new LoadTest(options).run() ? 0 : 1);
+    }
+
+    private boolean run() throws IOException, InterruptedException {
+        Path output = options.output();
+        Files.createDirectories(output);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Random random = new Random(options.seed());
+        PositionWorkload workload = new PositionWorkload(httpClient, options);
+
+        System.out.println("Load test: " + options);
+        System.out.printf("Seeding %d positions...%n", options.seedPositions());
+        workload.prepare(options.seedPositions(), random);
+
+        long startMillis = System.currentTimeMillis();
+        try (PrintStream histogramLog = new PrintStream(Files.newOutputStream(output.resolve("latency.hlog")));
+             PrintStream intervalsCsv = new PrintStream(Files.newOutputStream(output.resolve("intervals.csv")));
+             PrintStream driftCsv = new PrintStream(Files.newOutputStream(output.resolve("drift.csv")))) {
+            LatencyReport report = new LatencyReport(options.mix().keySet(), histogramLog, startMillis);
+            DriftMonitor drift = new DriftMonitor(httpClient, options.baseUrl(), driftCsv);
+            intervalsCsv.println("elapsed_s,phase,requests,errors,p50_ms,p99_ms,max_ms,live_positions");
+
+            long start = System.nanoTime();
+            long measureStart = start + options.warmup().toNanos();
+            long end = measureStart + options.duration().toNanos();
+
+            // Two threads, so a slow scrape of an overloaded server never delays the interval reports
+            ScheduledExecutorService ticker = Executors.newScheduledThreadPool(2,
+                    Thread.ofPlatform().name("loadtest-ticker-", 0).daemon().factory());
+            long reportMillis = options.reportInterval().toMillis();
+            ticker.scheduleAtFixedRate(() -> {
+                LatencyReport.Interval interval = report.interval();
+                double elapsed = (System.nanoTime() - start) / 1e9;
+                String phase = measuring ? "measure" : "warmup";
+                System.out.printf(Locale.ROOT, "[%6.0fs] %-7s %7d req (%7.1f/s) errors=%-5d p50=%8.2fms p99=%8.2fms max=%8.2fms%n",
+                        elapsed, phase, interval.requests(), interval.requests() * 1000.0 / reportMillis, interval.errors(),
+                        interval.p50Millis(), interval.p99Millis(), interval.maxMillis());
+                intervalsCsv.printf(Locale.ROOT, "%.0f,%s,%d,%d,%.3f,%.3f,%.3f,%d%n", elapsed, phase, interval.requests(),
+                        interval.errors(), interval.p50Millis(), interval.p99Millis(), interval.maxMillis(), workload.livePositions());
+                intervalsCsv.flush();
+            }, reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+            ticker.scheduleAtFixedRate(() -> drift.sample((System.nanoTime() - start) / 1e9),
+                    0, options.driftInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+            Semaphore inFlight = new Semaphore(options.maxInFlight());
+            ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+            double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+            for (long i = 0; ; i++) {
+                long scheduled = start + Math.round(i * intervalNanos);
+                if (scheduled >= end) {
+                    break;
+                }
+                if (!measuring && scheduled >= measureStart) {
+                    report.reset();
+                    measuring = true;
+                }
+                parkUntil(scheduled);
+                PositionWorkload.Call call = workload.next(random);
+                if (!inFlight.tryAcquire()) {
+                    report.dropped(call.operation());
+                    continue;
+                }
+                senders.execute(() -> {
+                    try {
+                        send(httpClient, workload, report, call, scheduled, measureStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            senders.shutdown();
+            if (!senders.awaitTermination(options.timeout().toSeconds() + 5, TimeUnit.SECONDS)) {
+                System.out.println("Some requests were still in flight at the end of the run");
+            }
+            ticker.shutdownNow();
+            drift.sample((System.nanoTime() - start) / 1e9);
+
+            ByteArrayOutputStream summary = new ByteArrayOutputStream();
+            try (PrintStream out = new PrintStream(summary, true, StandardCharsets.UTF_8)) {
+                out.println("Load test: " + options);
+                report.write(out, output, options.duration().toMillis() / 1000.0);
+                drift.write(out);
+            }
+            Files.write(output.resolve("summary.txt"), summary.toByteArray());
+            System.out.print(summary.toString(StandardCharsets.UTF_8));
+            System.out.println("\nResults written to " + output.toAbsolutePath());
+
+            boolean passed = report.errorRate() <= options.maxErrorRate();
+            if (!passed) {
+                System.out.printf(Locale.ROOT, "FAILED: error rate %.3f%% is above --max-error-rate=%.3f%%%n",
+                        report.errorRate() * 100, options.maxErrorRate() * 100);
+            }
+            return passed;
+        }
+    }
+
+    private void send(HttpClient httpClient, PositionWorkload workload, LatencyReport report,
+                      PositionWorkload.Call call, long scheduled, long measureStart) {
+        long sent = System.nanoTime();
+        int status = 0;
+        String body = null;
+        String outcome;
+        try {
+            HttpResponse<String> response = httpClient.send(call.request(), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            body = response.body();
+            outcome = status / 100 == 2 ? "2xx" : Integer.toString(status);
+        } catch (HttpTimeoutException e) {
+            outcome = "timeout";
+        } catch (IOException e) {
+            outcome = "io";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long completed = System.nanoTime();
+        workload.completed(call.operation(), status, body);
+        // Warm-up requests that finish after measuring began would skew the first interval
+        if (scheduled >= measureStart || !measuring) {
+            report.record(call.operation(), scheduled, sent, completed, outcome);
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
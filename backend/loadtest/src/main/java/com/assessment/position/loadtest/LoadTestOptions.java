@@ -0,0 +1,130 @@
+package com.assessment.position.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. Durations accept {@code 500ms}, {@code 30s},
+ * {@code 10m} and {@code 8h}.
+ */
+public record LoadTestOptions(
+        URI baseUrl,
+        String apiKey,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        long seed,
+        int seedPositions,
+        int maxInFlight,
+        Duration timeout,
+        Duration reportInterval,
+        Duration driftInterval,
+        double maxErrorRate,
+        Path output) {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("base-url", "http://localhost:8080");
+        DEFAULTS.put("api-key", "1234567890");
+        DEFAULTS.put("rate", "100");
+        DEFAULTS.put("warmup", "30s");
+        DEFAULTS.put("duration", "2m");
+        DEFAULTS.put("mix", "list:40,get:40,create:10,update:7,delete:3");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("seed-positions", "500");
+        DEFAULTS.put("max-in-flight", "2000");
+        DEFAULTS.put("timeout", "10s");
+        DEFAULTS.put("report-interval", "10s");
+        DEFAULTS.put("drift-interval", "1m");
+        DEFAULTS.put("max-error-rate", "0.01");
+        DEFAULTS.put("output", "target/loadtest");
+    }
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + "; known options: " + DEFAULTS.keySet());
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(values.get("base-url").replaceAll("/+$", "")),
+                values.get("api-key"),
+                Double.parseDouble(values.get("rate")),
+                duration(values.get("warmup")),
+                duration(values.get("duration")),
+                mix(values.get("mix")),
+                Long.parseLong(values.get("seed")),
+                Integer.parseInt(values.get("seed-positions")),
+                Integer.parseInt(values.get("max-in-flight")),
+                duration(values.get("timeout")),
+                duration(values.get("report-interval")),
+                duration(values.get("drift-interval")),
+                Double.parseDouble(values.get("max-error-rate")),
+                Path.of(values.get("output")));
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return options;
+    }
+
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (text.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+            }
+            long amount = Long.parseLong(text.substring(0, text.length() - 1));
+            return switch (text.charAt(text.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+            };
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Unsupported duration: " + value, e);
+        }
+    }
+
+    // list:40,get:40,... as relative weights
+    static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] entry = part.split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix but got: " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in --mix: " + part);
+            }
+            if (weight > 0) {
+                mix.put(Operation.parse(entry[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "base-url=" + baseUrl + " rate=" + rate + "/s warmup=" + warmup + " duration=" + duration
+                + " mix=" + mix + " seed=" + seed + " seed-positions=" + seedPositions
+                + " max-in-flight=" + maxInFlight + " timeout=" + timeout;
+    }
+}
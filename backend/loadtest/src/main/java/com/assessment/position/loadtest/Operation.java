@@ -0,0 +1,22 @@
+package com.assessment.position.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The API calls the generator mixes. Each is reported with its own latency histogram.
+ */
+public enum Operation {
+    LIST,
+    GET,
+    CREATE,
+    UPDATE,
+    DELETE;
+
+    public static Operation parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,200 @@
+package com.assessment.position.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Builds the requests of the mix and keeps the ids of positions that exist, so gets, updates and
+ * deletes hit real rows. All choices come from the scheduler's seeded {@link Random}, so a run with
+ * the same seed and mix issues the same sequence of operations and payloads; which ids they target
+ * also depends on which creates have completed.
+ */
+public class PositionWorkload {
+    private static final String[] STATUSES = {"OPEN", "CLOSED", "DRAFT"};
+    private static final String[] LOCATIONS = {"Madrid", "Barcelona", "Valencia", "Sevilla", "Remote"};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUrl;
+    private final String apiKey;
+    private final Duration timeout;
+    private final int[] weights;
+    private final Operation[] operations;
+    private final int totalWeight;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Long> ids = new ArrayList<>();
+    private List<Long> recruiterIds = List.of();
+    private List<Long> departmentIds = List.of();
+    private long created;
+
+    /** A request ready to send; {@code id} is the position it targets, if any. */
+    public record Call(Operation operation, HttpRequest request, Long id) {
+    }
+
+    public PositionWorkload(HttpClient httpClient, LoadTestOptions options) {
+        this.httpClient = httpClient;
+        this.baseUrl = options.baseUrl();
+        this.apiKey = options.apiKey();
+        this.timeout = options.timeout();
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.weights = options.mix().values().stream().mapToInt(Integer::intValue).toArray();
+        this.totalWeight = options.mix().values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Loads reference data and creates {@code count} positions to work on. Not measured.
+     */
+    public void prepare(int count, Random random) throws IOException, InterruptedException {
+        recruiterIds = referenceIds("/api/recruiters");
+        departmentIds = referenceIds("/api/departments");
+        if (recruiterIds.isEmpty() || departmentIds.isEmpty()) {
+            throw new IllegalStateException("The server has no recruiters or departments to create positions with");
+        }
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = httpClient.send(create(random).request(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Seeding positions failed with " + response.statusCode() + ": " + response.body());
+            }
+            completed(Operation.CREATE, response.statusCode(), response.body());
+        }
+    }
+
+    /**
+     * The next call of the mix. Gets, updates and deletes fall back to a create while no position exists.
+     */
+    public Call next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        Operation operation = operations[operations.length - 1];
+        for (int i = 0; i < operations.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                operation = operations[i];
+                break;
+            }
+        }
+        return switch (operation) {
+            case LIST -> new Call(Operation.LIST, get("/api/positions?page=" + random.nextInt(5) + "&size=20"), null);
+            case GET -> withId(random, false, id -> new Call(Operation.GET, get("/api/positions/" + id), id));
+            case CREATE -> create(random);
+            case UPDATE -> withId(random, false, id -> new Call(Operation.UPDATE,
+                    send("PUT", "/api/positions/" + id, body(random, "Updated")), id));
+            case DELETE -> withId(random, true, id -> new Call(Operation.DELETE,
+                    builder("/api/positions/" + id).DELETE().build(), id));
+        };
+    }
+
+    /** Updates the id pool from a finished call. */
+    public void completed(Operation operation, int status, String body) {
+        if (operation == Operation.CREATE && status / 100 == 2) {
+            try {
+                long createdId = objectMapper.readTree(body).path("id").asLong();
+                lock.lock();
+                try {
+                    ids.add(createdId);
+                } finally {
+                    lock.unlock();
+                }
+            } catch (IOException e) {
+                // Not a position body; nothing to track
+            }
+        }
+    }
+
+    public int livePositions() {
+        lock.lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Call withId(Random random, boolean remove, LongFunction<Call> call) {
+        Long id;
+        lock.lock();
+        try {
+            if (ids.isEmpty()) {
+                id = null;
+            } else {
+                int index = random.nextInt(ids.size());
+                id = ids.get(index);
+                if (remove) {
+                    // Swap-remove so the pick stays O(1); deleted ids are never handed out again
+                    ids.set(index, ids.get(ids.size() - 1));
+                    ids.remove(ids.size() - 1);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return id == null ? create(random) : call.apply(id);
+    }
+
+    private Call create(Random random) {
+        return new Call(Operation.CREATE, send("POST", "/api/positions", body(random, "Load test")), null);
+    }
+
+    private String body(Random random, String prefix) {
+        long number;
+        lock.lock();
+        try {
+            number = ++created;
+        } finally {
+            lock.unlock();
+        }
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("title", prefix + " position " + number)
+                .put("description", "Generated by the load test, position " + number)
+                .put("location", LOCATIONS[random.nextInt(LOCATIONS.length)])
+                .put("status", STATUSES[random.nextInt(STATUSES.length)])
+                .put("budget", 30000 + random.nextInt(90000))
+                .put("closingDate", LocalDate.of(2030, 1, 1).plusDays(random.nextInt(730)).toString());
+        body.putObject("recruiter").put("id", recruiterIds.get(random.nextInt(recruiterIds.size())));
+        body.putObject("department").put("id", departmentIds.get(random.nextInt(departmentIds.size())));
+        return body.toString();
+    }
+
+    private List<Long> referenceIds(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(get(path), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        List<Long> result = new ArrayList<>();
+        for (JsonNode node : objectMapper.readTree(response.body())) {
+            result.add(node.path("id").asLong());
+        }
+        return result;
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return builder(path)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(timeout)
+                .header("X-API-KEY", apiKey)
+                .header("Accept", "application/json");
+    }
+}
@@ -0,0 +1,210 @@
+package com.assessment.position.analytics;
+
+import com.assessment.position.dto.BudgetAggregate;
+import com.assessment.position.dto.PositionAggregateRow;
+import com.assessment.position.dto.PositionAnalytics;
+import com.assessment.position.dto.PositionContribution;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import com.assessment.position.service.ReferenceDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Headcount and budget totals per department, status and recruiter. Seeded from one GROUP BY at
+ * startup and adjusted from committed writes, so reads cost O(groups) rather than O(positions).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PositionAggregates {
+    private final PositionRepository positionRepository;
+    private final ReferenceDataService referenceDataService;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Totals total = new Totals();
+    private final Map<Long, Totals> byDepartment = new TreeMap<>();
+    private final Map<PositionStatus, Totals> byStatus = new EnumMap<>(PositionStatus.class);
+    private final Map<Long, Totals> byRecruiter = new TreeMap<>();
+    // Updates and deletes only carry the new state, so each position's share is kept to subtract it later
+    private final Map<Long, PositionContribution> contributions = new HashMap<>();
+    private final Queue<PositionChangedEvent> pendingDuringRebuild = new ArrayDeque<>();
+    private boolean rebuilding;
+
+    private static final class Totals {
+        long headcount;
+        BigDecimal budget = BigDecimal.ZERO;
+
+        void add(long count, BigDecimal amount) {
+            headcount += count;
+            budget = budget.add(amount);
+        }
+
+        BudgetAggregate toAggregate(String key, String name) {
+            return new BudgetAggregate(key, name, headcount, budget);
+        }
+    }
+
+    /**
+     * Both queries run in one repeatable-read snapshot so the totals and the per-position shares agree.
+     * Not read-only, so it reads the primary: a lagging replica would lose changes published before
+     * the rebuild started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void rebuild() {
+        lock.lock();
+        try {
+            rebuilding = true;
+        } finally {
+            lock.unlock();
+        }
+
+        long started = System.nanoTime();
+        List<PositionAggregateRow> rows = positionRepository.aggregateBudgets();
+        List<PositionContribution> shares = positionRepository.findContributions();
+
+        lock.lock();
+        try {
+            total.headcount = 0;
+            total.budget = BigDecimal.ZERO;
+            byDepartment.clear();
+            byStatus.clear();
+            byRecruiter.clear();
+            contributions.clear();
+            for (PositionAggregateRow row : rows) {
+                add(row.departmentId(), row.status(), row.recruiterId(), row.headcount(), row.budget());
+            }
+            shares.forEach(share -> contributions.put(share.id(), share));
+
+            // Replay writes committed while the snapshot was read; applying a share twice is harmless
+            PositionChangedEvent event;
+            while ((event = pendingDuringRebuild.poll()) != null) {
+                apply(event);
+            }
+            rebuilding = false;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Position aggregates rebuilt from {} groups covering {} positions in {} ms",
+                rows.size(), contributions.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPositionChanged(PositionChangedEvent event) {
+        lock.lock();
+        try {
+            if (rebuilding) {
+                pendingDuringRebuild.add(event);
+            } else {
+                apply(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public PositionAnalytics snapshot() {
+        List<BudgetAggregate> departments;
+        List<BudgetAggregate> statuses;
+        List<BudgetAggregate> recruiters;
+        long headcount;
+        BigDecimal budget;
+        lock.lock();
+        try {
+            departments = toAggregates(byDepartment);
+            statuses = byStatus.entrySet().stream()
+                    .map(entry -> entry.getValue().toAggregate(entry.getKey().name(), null))
+                    .toList();
+            recruiters = toAggregates(byRecruiter);
+            headcount = total.headcount;
+            budget = total.budget;
+        } finally {
+            lock.unlock();
+        }
+
+        // Names come from the reference data cache, outside the lock
+        Map<Long, Department> departmentNames = referenceDataService.findDepartments(keys(departments));
+        Map<Long, Recruiter> recruiterNames = referenceDataService.findRecruiters(keys(recruiters));
+        return new PositionAnalytics(headcount, budget,
+                withNames(departments, id -> departmentNames.containsKey(id) ? departmentNames.get(id).getName() : null),
+                statuses,
+                withNames(recruiters, id -> recruiterNames.containsKey(id) ? recruiterNames.get(id).getName() : null));
+    }
+
+    private void apply(PositionChangedEvent event) {
+        PositionContribution previous = contributions.remove(event.positionId());
+        if (previous != null) {
+            add(previous, -1);
+        }
+        PositionContribution current = switch (event.type()) {
+            case DELETED -> null;
+            case STATUS_CHANGED -> previous != null ? previous.withStatus(event.position().getStatus()) : null;
+            default -> PositionContribution.of(event.position());
+        };
+        if (current != null) {
+            contributions.put(current.id(), current);
+            add(current, 1);
+        }
+    }
+
+    private void add(PositionContribution share, int sign) {
+        BigDecimal budget = share.budget() != null ? share.budget() : BigDecimal.ZERO;
+        add(share.departmentId(), share.status(), share.recruiterId(), sign, sign < 0 ? budget.negate() : budget);
+    }
+
+    private void add(Long departmentId, PositionStatus status, Long recruiterId, long count, BigDecimal budget) {
+        total.add(count, budget);
+        adjust(byDepartment, departmentId, count, budget);
+        adjust(byStatus, status, count, budget);
+        adjust(byRecruiter, recruiterId, count, budget);
+    }
+
+    private static <K> void adjust(Map<K, Totals> groups, K key, long count, BigDecimal budget) {
+        if (key == null) {
+            return;
+        }
+        Totals totals = groups.computeIfAbsent(key, k -> new Totals());
+        totals.add(count, budget);
+        if (totals.headcount <= 0) {
+            groups.remove(key);
+        }
+    }
+
+    private static List<BudgetAggregate> toAggregates(Map<Long, Totals> groups) {
+        return groups.entrySet().stream()
+                .map(entry -> entry.getValue().toAggregate(entry.getKey().toString(), null))
+                .toList();
+    }
+
+    private static List<Long> keys(List<BudgetAggregate> aggregates) {
+        return aggregates.stream().map(aggregate -> Long.valueOf(aggregate.key())).toList();
+    }
+
+    private static List<BudgetAggregate> withNames(List<BudgetAggregate> aggregates, Function<Long, String> nameOf) {
+        return aggregates.stream()
+                .map(aggregate -> new BudgetAggregate(aggregate.key(), nameOf.apply(Long.valueOf(aggregate.key())),
+                        aggregate.headcount(), aggregate.budget()))
+                .toList();
+    }
+}
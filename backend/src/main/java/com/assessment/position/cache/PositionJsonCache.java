@@ -0,0 +1,95 @@
+package com.assessment.position.cache;
+
+import com.assessment.position.dto.CacheStats;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Position;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * JSON bodies of single positions, serialized once and served as bytes while their version is still
+ * the current one. Callers read the version first, so a write through another instance is never
+ * answered from here. Bounded by total bytes rather than entry count, since descriptions vary in
+ * length, and expire like the reference data cache so renamed recruiters and departments show up.
+ */
+@Component
+public class PositionJsonCache {
+    public static final String NAME = "positionJson";
+    // Key, entry and array headers on top of the JSON itself
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Entry> cache;
+
+    public record Entry(long version, byte[] json) {
+    }
+
+    public PositionJsonCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${application.cache.position-json.maximum-bytes:64MB}") DataSize maximumBytes,
+                             @Value("${application.cache.position-json.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes.toBytes())
+                .weigher((Long id, Entry entry) -> entry.json().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("position.json.cache.bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Bytes held by the position JSON cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached body if it is of {@code version}, otherwise one serialized from {@code loader}. The
+     * loaded body is cached only if it is of that version too: read from a lagging replica it may
+     * be older, and an older body must not be kept under the id.
+     */
+    public Entry get(Long id, long version, Function<Long, Position> loader) {
+        Entry cached = cache.getIfPresent(id);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        Position position = loader.apply(id);
+        Entry entry;
+        try {
+            entry = new Entry(position.getVersion() != null ? position.getVersion() : 0, objectMapper.writeValueAsBytes(position));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (entry.version() == version) {
+            cache.put(id, entry);
+        }
+        return entry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPositionChanged(PositionChangedEvent event) {
+        cache.invalidate(event.positionId());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        var stats = cache.stats();
+        return new CacheStats(NAME, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+}
@@ -0,0 +1,62 @@
+package com.assessment.position.cache;
+
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.PositionListVersion;
+import com.assessment.position.repository.PositionListVersionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * ETag of the position lists, read from the {@code position_list_version} row that every write
+ * transaction bumps. No tag is handed out within the replica lag of the last bump.
+ */
+@Component
+public class PositionListEtag {
+    private final PositionListVersionRepository listVersionRepository;
+    private final long quietMillis;
+
+    public PositionListEtag(PositionListVersionRepository listVersionRepository,
+                            @Value("${application.datasource.replica-urls:}") String replicaUrls,
+                            @Value("${application.datasource.max-replica-lag:2s}") Duration maxReplicaLag) {
+        this.listVersionRepository = listVersionRepository;
+        this.quietMillis = StringUtils.hasText(replicaUrls) ? maxReplicaLag.toMillis() : 0;
+    }
+
+    /** The current tag; read it before the page, so a write committing in between leaves the tag older than the page. */
+    public Optional<String> current() {
+        return listVersionRepository.findById(PositionListVersion.ID)
+                .filter(version -> quietMillis == 0 || System.currentTimeMillis() - version.getChangedAt() >= quietMillis)
+                .map(version -> "W/\"" + version.getVersion() + "\"");
+    }
+
+    // Runs inside the writing transaction; a transaction with many events bumps the row once
+    @EventListener
+    public void onPositionChanged(PositionChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            listVersionRepository.bump(System.currentTimeMillis());
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                listVersionRepository.bump(System.currentTimeMillis());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(PositionListEtag.this);
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.assessment.position.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String RECRUITERS = "recruiters";
+    public static final String RECRUITER_LIST = "recruiterList";
+    public static final String DEPARTMENTS = "departments";
+    public static final String DEPARTMENT_LIST = "departmentList";
+
+    @Value("${application.cache.reference-data.maximum-size:1000}")
+    private long maximumSize;
+
+    @Value("${application.cache.reference-data.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(RECRUITERS, RECRUITER_LIST, DEPARTMENTS, DEPARTMENT_LIST);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        return cacheManager;
+    }
+}
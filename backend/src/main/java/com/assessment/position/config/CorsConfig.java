@@ -3,6 +3,7 @@ package com.assessment.position.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -16,7 +17,7 @@ public class CorsConfig {
     @Value("${cors.allowed-origins:http://localhost:3000}")
     private String[] allowedOrigins;
 
-    @Value("${cors.allowed-methods:GET,POST,PUT,DELETE,OPTIONS}")
+    @Value("${cors.allowed-methods:GET,POST,PUT,PATCH,DELETE,OPTIONS}")
     private String[] allowedMethods;
 
     @Value("${cors.allowed-headers:*}")
@@ -38,6 +39,9 @@ public class CorsConfig {
         // Allow all headers
         config.setAllowedHeaders(Arrays.asList(allowedHeaders));
         
+        // Let the frontend read ETags for conditional requests
+        config.addExposedHeader(HttpHeaders.ETAG);
+        
         // Allow credentials (cookies, authorization headers, etc.)
         config.setAllowCredentials(true);
         
@@ -0,0 +1,89 @@
+package com.assessment.position.config;
+
+import com.assessment.position.routing.ReadYourWrites;
+import com.assessment.position.routing.ReadYourWritesInterceptor;
+import com.assessment.position.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read/write splitting, enabled by setting {@code DB_REPLICA_URLS}. Read-only transactions go to
+ * the replicas unless the client wrote within {@code DB_REPLICA_MAX_LAG}; all other work goes to
+ * the primary configured under {@code spring.datasource}.
+ */
+@Configuration
+// Not a placeholder inside the expression: JDBC URLs may contain quotes
+// Sharding has its own routing data source and refuses to start alongside replicas
+@ConditionalOnExpression("T(org.springframework.util.StringUtils).hasText(environment['application.datasource.replica-urls'])"
+        + " and !T(org.springframework.util.StringUtils).hasText(environment['application.sharding.shard-urls'])")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    @Value("${application.datasource.replica-urls}")
+    private String replicaUrls;
+
+    @Value("${application.datasource.replica-username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${application.datasource.replica-password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${application.datasource.max-replica-lag:2s}")
+    private Duration maxReplicaLag;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica pools copy the primary's pool settings and are read-only at the driver level.
+     */
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(HikariDataSource primaryDataSource, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<String> urls = Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setUsername(replicaUsername);
+            config.setPassword(replicaPassword);
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites() {
+        return new ReadYourWrites(maxReplicaLag);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWrites())).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,36 @@
+package com.assessment.position.config;
+
+import com.assessment.position.lifecycle.PositionStatusSweeper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+/**
+ * Background jobs. Registered programmatically so intervals can use the same {@code 15m} style as
+ * the rest of the configuration. Fixed delay, so a slow run is never overlapped by the next one.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "application.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SchedulingConfig implements SchedulingConfigurer {
+    private final PositionStatusSweeper positionStatusSweeper;
+
+    @Value("${application.sweeper.interval:15m}")
+    private Duration interval;
+
+    @Value("${application.sweeper.initial-delay:1m}")
+    private Duration initialDelay;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(positionStatusSweeper::run, interval, initialDelay));
+    }
+}
@@ -0,0 +1,125 @@
+package com.assessment.position.config;
+
+import com.assessment.position.routing.ShardIdRanges;
+import com.assessment.position.routing.ShardRoutingDataSource;
+import com.assessment.position.routing.ShardTenantResolver;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits positions across databases by department, enabled by setting {@code POSITION_SHARD_URLS}.
+ * The database under {@code spring.datasource} is shard 0 and each URL adds the next shard, so an
+ * existing database keeps its ids. Every shard holds a full copy of the reference data.
+ */
+@Configuration
+// Not a placeholder inside the expression: JDBC URLs may contain quotes
+@ConditionalOnExpression("T(org.springframework.util.StringUtils).hasText(environment['application.sharding.shard-urls'])")
+@EnableConfigurationProperties(SqlInitializationProperties.class)
+public class ShardingConfig {
+
+    @Value("${application.sharding.shard-urls}")
+    private String shardUrls;
+
+    @Value("${application.sharding.shard-username:${spring.datasource.username:}}")
+    private String shardUsername;
+
+    @Value("${application.sharding.shard-password:${spring.datasource.password:}}")
+    private String shardPassword;
+
+    public ShardingConfig(@Value("${application.datasource.replica-urls:}") String replicaUrls) {
+        if (StringUtils.hasText(replicaUrls)) {
+            throw new IllegalStateException("POSITION_SHARD_URLS cannot be combined with DB_REPLICA_URLS");
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource firstShardDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    /**
+     * The added shards copy the pool settings of shard 0.
+     */
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(HikariDataSource firstShardDataSource, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(firstShardDataSource);
+        for (String url : Arrays.stream(shardUrls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList()) {
+            HikariConfig config = new HikariConfig();
+            firstShardDataSource.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setUsername(shardUsername);
+            config.setPassword(shardPassword);
+            config.setPoolName("shard-" + shards.size());
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            shards.add(new HikariDataSource(config));
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardTenantResolver() {
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new ShardTenantResolver());
+    }
+
+    /**
+     * Replaces the single-database script initializer: runs schema.sql and data.sql on every shard,
+     * then checks that each shard allocates ids from its own range. The check also runs when script
+     * initialization is off, as in the prod profile, where the ranges are set up by hand.
+     */
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(ShardRoutingDataSource dataSource,
+                                                                                   SqlInitializationProperties properties) {
+        return new ShardScriptInitializer(dataSource.getShards(), properties);
+    }
+
+    private static final class ShardScriptInitializer extends SqlDataSourceScriptDatabaseInitializer {
+        private final List<? extends DataSource> shards;
+        private final SqlInitializationProperties properties;
+
+        private ShardScriptInitializer(List<? extends DataSource> shards, SqlInitializationProperties properties) {
+            super(shards.get(0), properties);
+            this.shards = shards;
+            this.properties = properties;
+        }
+
+        @Override
+        public boolean initializeDatabase() {
+            boolean initialized = super.initializeDatabase();
+            for (int shard = 1; shard < shards.size(); shard++) {
+                DataSource dataSource = shards.get(shard);
+                if (new SqlDataSourceScriptDatabaseInitializer(dataSource, properties).initializeDatabase()) {
+                    ShardIdRanges.startAt(dataSource, shard);
+                    initialized = true;
+                }
+            }
+            ShardIdRanges.check(shards);
+            return initialized;
+        }
+    }
+}
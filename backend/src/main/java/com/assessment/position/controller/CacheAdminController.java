@@ -0,0 +1,48 @@
+package com.assessment.position.controller;
+
+import com.assessment.position.cache.PositionJsonCache;
+import com.assessment.position.dto.CacheStats;
+import com.assessment.position.service.ReferenceDataService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+@Tag(name = "Cache Administration", description = "APIs for inspecting and invalidating reference data caches")
+public class CacheAdminController {
+    private final ReferenceDataService referenceDataService;
+    private final PositionJsonCache positionJsonCache;
+
+    @Operation(summary = "Get cache statistics", description = "Returns size and hit/miss statistics for every cache")
+    @GetMapping
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        List<CacheStats> stats = new ArrayList<>(referenceDataService.getCacheStats());
+        stats.add(positionJsonCache.stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @Operation(summary = "Invalidate recruiter caches",
+            description = "Drops all cached recruiters, the recruiter list and the position JSON that embeds them")
+    @DeleteMapping("/recruiters")
+    public ResponseEntity<Void> evictRecruiters() {
+        referenceDataService.evictRecruiters();
+        positionJsonCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Invalidate department caches",
+            description = "Drops all cached departments, the department list and the position JSON that embeds them")
+    @DeleteMapping("/departments")
+    public ResponseEntity<Void> evictDepartments() {
+        referenceDataService.evictDepartments();
+        positionJsonCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,28 +1,39 @@
 package com.assessment.position.controller;
 
+import com.assessment.position.dto.ReferenceList;
 import com.assessment.position.model.Department;
-import com.assessment.position.repository.DepartmentRepository;
+import com.assessment.position.service.ReferenceDataService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/departments")
 @RequiredArgsConstructor
 public class DepartmentController {
-    private final DepartmentRepository departmentRepository;
+    private final ReferenceDataService referenceDataService;
+
+    @Value("${application.cache.reference-data.http-max-age:5m}")
+    private Duration httpMaxAge;
 
     @GetMapping
     public ResponseEntity<List<Department>> getAllDepartments() {
-        return ResponseEntity.ok(departmentRepository.findAll());
+        ReferenceList<Department> departments = referenceDataService.getAllDepartments();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(httpMaxAge).cachePrivate())
+                .eTag(departments.etag())
+                .body(departments.items());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Department> getDepartment(@PathVariable Long id) {
-        return departmentRepository.findById(id)
+        return referenceDataService.findDepartment(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.assessment.position.controller;
+
+import com.assessment.position.feed.PositionChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/positions/changes")
+@RequiredArgsConstructor
+@Tag(name = "Position Changes", description = "Server-sent stream of committed position changes")
+public class PositionChangeController {
+    private final PositionChangeFeed positionChangeFeed;
+
+    @Operation(summary = "Stream position changes",
+            description = "Pushes every committed create, update, status change and delete as a server-sent event. " +
+                    "Reconnect with Last-Event-ID to receive what was missed; a 'reset' event means the gap is no " +
+                    "longer buffered and the client should reload the list")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened")
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Id of the last event received, sent automatically by EventSource on reconnect")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return positionChangeFeed.subscribe(lastEventId);
+    }
+}
@@ -1,85 +1,320 @@
 package com.assessment.position.controller;
 
+import com.assessment.position.cache.PositionJsonCache;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.CursorPage;
+import com.assessment.position.dto.FacetedPage;
+import com.assessment.position.dto.PositionAnalytics;
+import com.assessment.position.dto.PositionDataFormat;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.dto.PositionSearchHit;
+import com.assessment.position.dto.PositionSummary;
+import com.assessment.position.dto.PositionWriteStatus;
+import com.assessment.position.dto.StatusTransitionRequest;
+import com.assessment.position.exception.VersionConflictException;
 import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionField;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.service.PositionBulkService;
+import com.assessment.position.service.PositionExportService;
+import com.assessment.position.service.PositionImportService;
 import com.assessment.position.service.PositionService;
+import com.assessment.position.writebehind.PositionWriteQueue;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 @RestController
 @RequestMapping("/api/positions")
 @RequiredArgsConstructor
 @Tag(name = "Position Management", description = "APIs for managing positions")
 public class PositionController {
+    private static final int MAX_CURSOR_LIMIT = 100;
+    private static final Pattern VERSION_ETAG = Pattern.compile("\"(\\d+)\"");
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final PositionService positionService;
+    private final PositionBulkService positionBulkService;
+    private final PositionExportService positionExportService;
+    private final PositionImportService positionImportService;
+    private final PositionWriteQueue positionWriteQueue;
+    private final PositionJsonCache positionJsonCache;
 
     @Operation(summary = "Get all positions with pagination",
-            description = "Retrieves a paginated list of positions with optional sorting")
+            description = "Retrieves a paginated list of positions with optional sorting and filters. The response " +
+                    "carries facet counts for status, department, recruiter and location; each facet is counted " +
+                    "with all other filters applied")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved positions"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter value or sort field"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
     })
+    @Parameter(name = "location", in = ParameterIn.QUERY, description = "Filter by location, repeat for several")
     @GetMapping
-    public ResponseEntity<Page<Position>> getAllPositions(
+    public ResponseEntity<FacetedPage<Position>> getAllPositions(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Field to sort by") @RequestParam(defaultValue = "title") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
+            @Parameter(description = "Field to sort by (id, title, location, status, budget, closingDate)") @RequestParam(defaultValue = "title") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) Set<PositionStatus> status,
+            @Parameter(description = "Filter by department id") @RequestParam(required = false) Set<Long> departmentId,
+            @Parameter(description = "Filter by recruiter id") @RequestParam(required = false) Set<Long> recruiterId,
+            @Parameter(description = "Earliest closing date (inclusive)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate closingFrom,
+            @Parameter(description = "Latest closing date (inclusive)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate closingTo,
+            WebRequest request) {
         
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? 
-            Sort.Direction.DESC : Sort.Direction.ASC;
-        
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        return ResponseEntity.ok(positionService.getAllPositions(pageRequest));
+        // Read directly so locations containing commas are not split into several values
+        String[] locations = request.getParameterValues("location");
+        PositionFilter filter = new PositionFilter(status, departmentId, recruiterId,
+                locations != null ? Set.of(locations) : null, closingFrom, closingTo);
+        PageRequest pageRequest = PageRequest.of(page, size, sort(sortBy, direction));
+        return withListEtag(request, () -> positionService.getPositions(filter, pageRequest));
+    }
+
+    @Operation(summary = "Get positions with a sparse fieldset",
+            description = "Same paging as the full list, but only the requested fields are selected from the database. " +
+                    "Supported fields: id, title, description, location, status, budget, closingDate, recruiterId, " +
+                    "recruiterName, departmentId, departmentName. The id is always included")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved positions"),
+        @ApiResponse(responseCode = "400", description = "Unsupported field or sort field"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @GetMapping(params = {"fields", "!limit"})
+    public ResponseEntity<Page<Map<String, Object>>> getPositionFields(
+            @Parameter(description = "Comma-separated fields, e.g. title,status,departmentName") @RequestParam String fields,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by (id, title, location, status, budget, closingDate)") @RequestParam(defaultValue = "title") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            WebRequest request) {
+
+        List<PositionField> fieldList = PositionField.parse(fields);
+        PageRequest pageRequest = PageRequest.of(page, size, sort(sortBy, direction));
+        return withListEtag(request, () -> positionService.getPositionFields(fieldList, pageRequest));
+    }
+
+    @Operation(summary = "Get position summaries",
+            description = "Paginated list-view rows (id, title, status, location, departmentName) selected " +
+                    "with a JPQL projection instead of loading full entities")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved position summaries"),
+        @ApiResponse(responseCode = "400", description = "Unsupported sort field"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<Page<PositionSummary>> getPositionSummaries(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by (id, title, location, status, budget, closingDate)") @RequestParam(defaultValue = "title") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String direction,
+            WebRequest request) {
+
+        PageRequest pageRequest = PageRequest.of(page, size, sort(sortBy, direction));
+        return withListEtag(request, () -> positionService.getPositionSummaries(pageRequest));
+    }
+
+    @Operation(summary = "Get positions with cursor pagination",
+            description = "Retrieves positions after an opaque cursor using keyset pagination. No total count is computed; " +
+                    "follow nextCursor until hasNext is false. When a cursor is supplied its sort takes precedence.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved positions"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or sort field"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<Position>> getPositionsByCursor(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (1-100)") @RequestParam int limit,
+            @Parameter(description = "Field to sort by (id, title, location, status, budget, closingDate)") @RequestParam(defaultValue = "title") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String direction) {
+
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CURSOR_LIMIT);
+        }
+
+        if (cursor != null) {
+            PositionCursor after = PositionCursor.decode(cursor);
+            return ResponseEntity.ok(positionService.getPositionsAfter(after.sortField(), after.direction(), after, limit));
+        }
+
+        return ResponseEntity.ok(positionService.getPositionsAfter(sortField(sortBy), sortDirection(direction), null, limit));
+    }
+
+    @Operation(summary = "Search positions",
+            description = "Full-text search over title, description and location, ranked by relevance. " +
+                    "Served from an in-memory index; the last word is matched as a prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully searched positions"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<Page<PositionSearchHit>> searchPositions(
+            @Parameter(description = "Search text") @RequestParam("q") String query,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(positionService.searchPositions(query, PageRequest.of(page, size)));
+    }
+
+    @Operation(summary = "Get budget and headcount analytics",
+            description = "Position count and total budget overall and per department, status and recruiter. " +
+                    "Served from in-memory aggregates kept current from committed writes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved analytics"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @GetMapping("/analytics")
+    public ResponseEntity<PositionAnalytics> getAnalytics() {
+        return ResponseEntity.ok(positionService.getAnalytics());
+    }
+
+    @Operation(summary = "Export all positions",
+            description = "Streams every position as NDJSON or CSV straight from a database cursor, " +
+                    "so memory use stays flat regardless of table size")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @GetMapping("/export")
+    public void exportPositions(
+            @Parameter(description = "Output format (ndjson/csv)") @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        PositionDataFormat dataFormat = PositionDataFormat.fromParameter(format);
+        response.setContentType(dataFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"positions." + dataFormat.getExtension() + "\"");
+        positionExportService.export(dataFormat, response.getOutputStream());
     }
 
     @Operation(summary = "Get position by ID",
-            description = "Retrieves a specific position by its ID")
+            description = "Retrieves a specific position by its ID. The ETag is the position version; " +
+                    "a matching If-None-Match is answered with 304 from the version column alone. JSON bodies " +
+                    "are cached pre-serialized per version")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved position"),
+        @ApiResponse(responseCode = "304", description = "Position unchanged since the supplied ETag"),
         @ApiResponse(responseCode = "404", description = "Position not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Position> getPosition(@Parameter(description = "Position ID") @PathVariable Long id) {
-        return ResponseEntity.ok(positionService.getPosition(id));
+    public ResponseEntity<?> getPosition(@Parameter(description = "Position ID") @PathVariable Long id,
+                                         WebRequest request) {
+        // Read on every request, so neither a 304 nor a cached body can outlive a write through another instance
+        Long version = positionService.getPositionVersion(id);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = versionEtag(version);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        if (prefersJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            // Cached bytes are written as they are, skipping the entity load and Jackson
+            PositionJsonCache.Entry entry = positionJsonCache.get(id, version != null ? version : 0, positionService::getPosition);
+            return ResponseEntity.ok()
+                    .eTag(versionEtag(entry.version()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(entry.json());
+        }
+        Position position = positionService.getPosition(id);
+        return ResponseEntity.ok().eTag(versionEtag(position.getVersion())).body(position);
     }
 
     @Operation(summary = "Create new position",
-            description = "Creates a new position with the provided details")
+            description = "Creates a new position with the provided details. With write-behind enabled, " +
+                    "Prefer: respond-async queues the write for a group-committed batch and returns 202 " +
+                    "with a tracking id to poll at the Location header")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Position created successfully"),
+        @ApiResponse(responseCode = "202", description = "Write accepted and queued"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
-        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key"),
+        @ApiResponse(responseCode = "429", description = "Write-behind queue is full")
     })
     @PostMapping
-    public ResponseEntity<Position> createPosition(@Parameter(description = "Position details") @Valid @RequestBody Position position) {
+    public ResponseEntity<?> createPosition(@Parameter(description = "Position details") @Valid @RequestBody Position position,
+                                            @Parameter(description = "respond-async to queue the write", in = ParameterIn.HEADER)
+                                            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        if (prefer != null && prefer.contains(RESPOND_ASYNC) && positionWriteQueue.isEnabled()) {
+            PositionWriteStatus status = positionWriteQueue.enqueue(position);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/positions/writes/" + status.trackingId()))
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(status);
+        }
         return new ResponseEntity<>(positionService.createPosition(position), HttpStatus.CREATED);
     }
 
     @Operation(summary = "Update position",
-            description = "Updates an existing position with the provided details")
+            description = "Updates an existing position with the provided details in a single UPDATE. " +
+                    "Send the ETag from a previous read as If-Match to reject the update if the position changed since")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Position updated successfully"),
         @ApiResponse(responseCode = "404", description = "Position not found"),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the current version"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
     })
     @PutMapping("/{id}")
     public ResponseEntity<Position> updatePosition(
             @Parameter(description = "Position ID") @PathVariable Long id,
-            @Parameter(description = "Updated position details") @Valid @RequestBody Position position) {
-        return ResponseEntity.ok(positionService.updatePosition(id, position));
+            @Parameter(description = "Updated position details") @Valid @RequestBody Position position,
+            @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Position updated = positionService.updatePosition(id, position, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(versionEtag(updated.getVersion())).body(updated);
+    }
+
+    @Operation(summary = "Patch position",
+            description = "Applies a JSON Merge Patch (RFC 7396). Only the fields present in the patch are written, " +
+                    "in one UPDATE; recruiter and department are looked up only when the patch changes them")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Position patched successfully"),
+        @ApiResponse(responseCode = "404", description = "Position, recruiter or department not found"),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the current version"),
+        @ApiResponse(responseCode = "400", description = "Invalid or unknown field in patch"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Position> patchPosition(
+            @Parameter(description = "Position ID") @PathVariable Long id,
+            @Parameter(description = "Fields to change") @RequestBody ObjectNode patch,
+            @Parameter(description = "ETag of the version being patched") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Position patched = positionService.patchPosition(id, patch, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(versionEtag(patched.getVersion())).body(patched);
     }
 
     @Operation(summary = "Delete position",
@@ -94,4 +329,134 @@ public class PositionController {
         positionService.deletePosition(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    @Operation(summary = "Create positions in bulk",
+            description = "Creates many positions in one request using batched inserts. Each item is validated " +
+                    "independently and reported in the per-item results")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk request processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse> createPositions(@Parameter(description = "Positions to create") @RequestBody List<Position> positions) {
+        return ResponseEntity.ok(positionBulkService.createPositions(positions));
+    }
+
+    @Operation(summary = "Update positions in bulk",
+            description = "Updates many positions, identified by their id, using batched updates")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk request processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResponse> updatePositions(@Parameter(description = "Positions to update") @RequestBody List<Position> positions) {
+        return ResponseEntity.ok(positionBulkService.updatePositions(positions));
+    }
+
+    @Operation(summary = "Delete positions in bulk",
+            description = "Deletes many positions by id")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk request processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResponse> deletePositions(@Parameter(description = "Ids of positions to delete") @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(positionBulkService.deletePositions(ids));
+    }
+
+    @Operation(summary = "Transition position status in bulk",
+            description = "Moves the given positions to a new status with one UPDATE per chunk of ids. " +
+                    "Positions not found or not in one of the 'from' statuses are reported as failures")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk request processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkResponse> transitionStatus(@Parameter(description = "Ids and target status") @Valid @RequestBody StatusTransitionRequest request) {
+        return ResponseEntity.ok(positionBulkService.transitionStatus(request.ids(), request.from(), request.to()));
+    }
+
+    @Operation(summary = "Import positions",
+            description = "Streams a CSV (text/csv) or NDJSON (application/x-ndjson) upload into the database in chunked " +
+                    "transactions. The response is an NDJSON report with one line per rejected row and a final summary line")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed, see streamed report"),
+        @ApiResponse(responseCode = "400", description = "Unsupported content type"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing API key")
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public void importPositions(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        PositionDataFormat dataFormat = PositionDataFormat.fromContentType(request.getContentType());
+        response.setContentType(PositionDataFormat.NDJSON.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        positionImportService.importPositions(dataFormat, request.getInputStream(), response.getOutputStream());
+    }
+
+    // The tag is one primary-key read, so unchanged lists skip the page query and serialization
+    private <T> ResponseEntity<T> withListEtag(WebRequest request, Supplier<T> body) {
+        Optional<String> listEtag = positionService.getListEtag();
+        if (listEtag.isEmpty()) {
+            return ResponseEntity.ok(body.get());
+        }
+        String etag = listEtag.get();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+
+    // JSON unless the client ranks CBOR or Smile higher; JSON is also the default for */*
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            // Left to the regular content negotiation to reject
+            return false;
+        }
+        MediaType preferred = null;
+        for (MediaType type : types) {
+            if (type.getQualityValue() > 0 && (preferred == null || type.getQualityValue() > preferred.getQualityValue())) {
+                preferred = type;
+            }
+        }
+        return preferred != null && preferred.includes(MediaType.APPLICATION_JSON);
+    }
+
+    // Only indexed fields are sortable; anything else would sort the whole table on every page
+    private static Sort sort(String sortBy, String direction) {
+        return sortField(sortBy).toSort(sortDirection(direction));
+    }
+
+    private static PositionSortField sortField(String sortBy) {
+        return PositionSortField.fromProperty(sortBy)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + sortBy));
+    }
+
+    private static Sort.Direction sortDirection(String direction) {
+        return direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    private static String versionEtag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        // If-Match uses strong comparison, so weak or foreign tags can never match
+        Matcher matcher = VERSION_ETAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new VersionConflictException("If-Match " + ifMatch + " does not identify a position version");
+        }
+        return Long.valueOf(matcher.group(1));
+    }
+}
@@ -0,0 +1,36 @@
+package com.assessment.position.controller;
+
+import com.assessment.position.dto.PositionWriteStatus;
+import com.assessment.position.writebehind.PositionWriteQueue;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/positions/writes")
+@RequiredArgsConstructor
+@Tag(name = "Position Writes", description = "Status of writes accepted in write-behind mode")
+public class PositionWriteController {
+    private final PositionWriteQueue positionWriteQueue;
+
+    @Operation(summary = "Get write status",
+            description = "Returns QUEUED until the write's batch commits, then COMMITTED with the position id " +
+                    "or FAILED with the validation errors. Statuses are kept for the configured retention")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Write status found"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired tracking id")
+    })
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<PositionWriteStatus> getWriteStatus(
+            @Parameter(description = "Tracking id returned when the write was accepted") @PathVariable String trackingId) {
+        return positionWriteQueue.status(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new EntityNotFoundException("Write not found with tracking id: " + trackingId));
+    }
+}
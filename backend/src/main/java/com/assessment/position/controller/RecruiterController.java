@@ -1,28 +1,40 @@
 package com.assessment.position.controller;
 
+import com.assessment.position.dto.ReferenceList;
 import com.assessment.position.model.Recruiter;
-import com.assessment.position.repository.RecruiterRepository;
+import com.assessment.position.service.ReferenceDataService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/recruiters")
 @RequiredArgsConstructor
 public class RecruiterController {
-    private final RecruiterRepository recruiterRepository;
+    private final ReferenceDataService referenceDataService;
+
+    @Value("${application.cache.reference-data.http-max-age:5m}")
+    private Duration httpMaxAge;
 
     @GetMapping
     public ResponseEntity<List<Recruiter>> getAllRecruiters() {
-        return ResponseEntity.ok(recruiterRepository.findAll());
+        // ETag matches are answered with 304 by Spring before the body is written
+        ReferenceList<Recruiter> recruiters = referenceDataService.getAllRecruiters();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(httpMaxAge).cachePrivate())
+                .eTag(recruiters.etag())
+                .body(recruiters.items());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Recruiter> getRecruiter(@PathVariable Long id) {
-        return recruiterRepository.findById(id)
+        return referenceDataService.findRecruiter(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.assessment.position.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Headcount and total budget of one group: a department or recruiter id, or a status name.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BudgetAggregate(String key, String name, long headcount, BigDecimal budget) {
+}
@@ -0,0 +1,34 @@
+package com.assessment.position.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, Long id, Status status, Map<String, String> errors) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        FAILED,
+        // Valid, but its transaction rolled back; nothing was written and the item can be retried
+        ROLLED_BACK
+    }
+
+    public static BulkItemResult success(int index, Long id, Status status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failure(int index, Long id, Map<String, String> errors) {
+        return new BulkItemResult(index, id, Status.FAILED, errors);
+    }
+
+    public static BulkItemResult rolledBack(int index, Long id, String reason) {
+        return new BulkItemResult(index, id, Status.ROLLED_BACK, Map.of("error", "Transaction rolled back: " + reason));
+    }
+
+    public boolean succeeded() {
+        return status != Status.FAILED && status != Status.ROLLED_BACK;
+    }
+}
@@ -0,0 +1,15 @@
+package com.assessment.position.dto;
+
+import java.util.Comparator;
+import java.util.List;
+
+public record BulkResponse(int succeeded, int failed, List<BulkItemResult> results) {
+
+    public static BulkResponse of(List<BulkItemResult> results) {
+        List<BulkItemResult> ordered = results.stream()
+                .sorted(Comparator.comparingInt(BulkItemResult::index))
+                .toList();
+        int succeeded = (int) ordered.stream().filter(BulkItemResult::succeeded).count();
+        return new BulkResponse(succeeded, ordered.size() - succeeded, ordered);
+    }
+}
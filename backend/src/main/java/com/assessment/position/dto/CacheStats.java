@@ -0,0 +1,5 @@
+package com.assessment.position.dto;
+
+public record CacheStats(String name, long size, long hitCount, long missCount, double hitRate,
+                         long evictionCount) {
+}
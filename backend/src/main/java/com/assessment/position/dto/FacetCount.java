@@ -0,0 +1,11 @@
+package com.assessment.position.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Number of positions matching the current filters that have this value. The label is the
+ * department or recruiter name where the value is an id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FacetCount(String value, String label, long count) {
+}
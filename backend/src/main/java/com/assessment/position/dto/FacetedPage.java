@@ -0,0 +1,21 @@
+package com.assessment.position.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * A page that serializes like any other plus a {@code facets} field, so existing list clients
+ * keep working unchanged.
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+    private final transient PositionFacets facets;
+
+    public FacetedPage(Page<T> page, PositionFacets facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+    }
+
+    public PositionFacets getFacets() {
+        return facets;
+    }
+}
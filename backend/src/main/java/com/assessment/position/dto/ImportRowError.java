@@ -0,0 +1,6 @@
+package com.assessment.position.dto;
+
+import java.util.Map;
+
+public record ImportRowError(long row, Map<String, String> errors) {
+}
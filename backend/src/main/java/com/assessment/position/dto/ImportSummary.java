@@ -0,0 +1,4 @@
+package com.assessment.position.dto;
+
+public record ImportSummary(long rows, long imported, long failed) {
+}
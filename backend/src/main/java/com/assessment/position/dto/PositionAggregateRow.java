@@ -0,0 +1,11 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.model.PositionStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One GROUP BY cell of department, status and recruiter with its position count and budget total.
+ */
+public record PositionAggregateRow(Long departmentId, PositionStatus status, Long recruiterId, Long headcount, BigDecimal budget) {
+}
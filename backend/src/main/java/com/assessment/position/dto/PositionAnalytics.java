@@ -0,0 +1,8 @@
+package com.assessment.position.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record PositionAnalytics(long headcount, BigDecimal budget, List<BudgetAggregate> byDepartment,
+                                List<BudgetAggregate> byStatus, List<BudgetAggregate> byRecruiter) {
+}
@@ -0,0 +1,22 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One entry of the change feed. Creates and updates carry the full position, status transitions
+ * only the new status, deletes only the id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PositionChange(PositionChangedEvent.Type type, Long id, PositionStatus status, Position position) {
+
+    public static PositionChange of(PositionChangedEvent event) {
+        return switch (event.type()) {
+            case CREATED, UPDATED -> new PositionChange(event.type(), event.positionId(), null, event.position());
+            case STATUS_CHANGED -> new PositionChange(event.type(), event.positionId(), event.position().getStatus(), null);
+            case DELETED -> new PositionChange(event.type(), event.positionId(), null, null);
+        };
+    }
+}
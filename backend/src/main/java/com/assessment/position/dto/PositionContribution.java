@@ -0,0 +1,25 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * What a single position adds to the budget aggregates, kept so updates and deletes can take
+ * back the previous values without reading the row again.
+ */
+public record PositionContribution(Long id, Long departmentId, PositionStatus status, Long recruiterId, BigDecimal budget) {
+
+    public static PositionContribution of(Position position) {
+        return new PositionContribution(position.getId(),
+                position.getDepartment() != null ? position.getDepartment().getId() : null,
+                position.getStatus(),
+                position.getRecruiter() != null ? position.getRecruiter().getId() : null,
+                position.getBudget());
+    }
+
+    public PositionContribution withStatus(PositionStatus newStatus) {
+        return new PositionContribution(id, departmentId, newStatus, recruiterId, budget);
+    }
+}
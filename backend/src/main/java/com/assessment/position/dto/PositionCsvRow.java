@@ -0,0 +1,55 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@JsonPropertyOrder({"id", "title", "description", "location", "status", "recruiterId", "departmentId", "budget", "closingDate"})
+public record PositionCsvRow(Long id, String title, String description, String location, PositionStatus status,
+                             Long recruiterId, Long departmentId, BigDecimal budget, LocalDate closingDate) {
+
+    public static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .build();
+    public static final CsvSchema CSV_SCHEMA = CSV_MAPPER.schemaFor(PositionCsvRow.class).withHeader();
+
+    public static PositionCsvRow from(Position position) {
+        return new PositionCsvRow(position.getId(), position.getTitle(), position.getDescription(), position.getLocation(),
+                position.getStatus(), position.getRecruiter().getId(), position.getDepartment().getId(),
+                position.getBudget(), position.getClosingDate());
+    }
+
+    public Position toPosition() {
+        Position position = new Position();
+        position.setId(id);
+        position.setTitle(title);
+        position.setDescription(description);
+        position.setLocation(location);
+        position.setStatus(status);
+        if (recruiterId != null) {
+            Recruiter recruiter = new Recruiter();
+            recruiter.setId(recruiterId);
+            position.setRecruiter(recruiter);
+        }
+        if (departmentId != null) {
+            Department department = new Department();
+            department.setId(departmentId);
+            position.setDepartment(department);
+        }
+        position.setBudget(budget);
+        position.setClosingDate(closingDate);
+        return position;
+    }
+}
@@ -0,0 +1,60 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the (sort key, id) pair of the last row returned, plus the
+ * sort it was produced under so follow-up requests keep seeking on the same index.
+ */
+public record PositionCursor(PositionSortField sortField, Sort.Direction direction, Long id, Object key) {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_KEY = "n";
+    private static final String VALUE_PREFIX = "v";
+
+    public static PositionCursor after(Position position, PositionSortField sortField, Sort.Direction direction) {
+        return new PositionCursor(sortField, direction, position.getId(), sortField.keyOf(position));
+    }
+
+    public String encode() {
+        String value = key == null ? NULL_KEY : VALUE_PREFIX + key;
+        String raw = String.join(SEPARATOR, sortField.name(), direction.name(), String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PositionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            PositionSortField sortField = PositionSortField.valueOf(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            Long id = Long.valueOf(parts[2]);
+            Object key = parts[3].equals(NULL_KEY) ? null : parseKey(sortField, parts[3].substring(VALUE_PREFIX.length()));
+            return new PositionCursor(sortField, direction, id, key);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+
+    private static Object parseKey(PositionSortField sortField, String value) {
+        return switch (sortField) {
+            case ID -> Long.valueOf(value);
+            case TITLE, LOCATION -> value;
+            case STATUS -> PositionStatus.valueOf(value);
+            case BUDGET -> new BigDecimal(value);
+            case CLOSING_DATE -> LocalDate.parse(value);
+        };
+    }
+}
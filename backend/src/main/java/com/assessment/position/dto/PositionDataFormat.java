@@ -0,0 +1,38 @@
+package com.assessment.position.dto;
+
+import java.util.Arrays;
+
+public enum PositionDataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    PositionDataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static PositionDataFormat fromContentType(String contentType) {
+        return Arrays.stream(values())
+                .filter(value -> contentType != null && contentType.toLowerCase().startsWith(value.contentType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported content type: " + contentType));
+    }
+
+    public static PositionDataFormat fromParameter(String format) {
+        return Arrays.stream(values())
+                .filter(value -> value.extension.equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported format: " + format));
+    }
+}
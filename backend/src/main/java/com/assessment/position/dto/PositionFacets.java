@@ -0,0 +1,7 @@
+package com.assessment.position.dto;
+
+import java.util.List;
+
+public record PositionFacets(List<FacetCount> status, List<FacetCount> department, List<FacetCount> recruiter,
+                             List<FacetCount> location) {
+}
@@ -0,0 +1,31 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.model.PositionStatus;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * List filters. Values within one dimension are OR-ed, dimensions are AND-ed, and the closing date
+ * range is inclusive at both ends. Empty sets and null dates leave a dimension unfiltered.
+ */
+public record PositionFilter(Set<PositionStatus> statuses, Set<Long> departmentIds, Set<Long> recruiterIds,
+                             Set<String> locations, LocalDate closingFrom, LocalDate closingTo) {
+
+    public static final PositionFilter NONE = new PositionFilter(null, null, null, null, null, null);
+
+    public PositionFilter {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+        departmentIds = departmentIds == null ? Set.of() : Set.copyOf(departmentIds);
+        recruiterIds = recruiterIds == null ? Set.of() : Set.copyOf(recruiterIds);
+        locations = locations == null ? Set.of() : Set.copyOf(locations);
+        if (closingFrom != null && closingTo != null && closingFrom.isAfter(closingTo)) {
+            throw new IllegalArgumentException("closingFrom must not be after closingTo");
+        }
+    }
+
+    public boolean isEmpty() {
+        return statuses.isEmpty() && departmentIds.isEmpty() && recruiterIds.isEmpty() && locations.isEmpty()
+                && closingFrom == null && closingTo == null;
+    }
+}
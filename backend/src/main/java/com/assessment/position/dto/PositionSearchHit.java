@@ -0,0 +1,7 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.model.PositionStatus;
+
+public record PositionSearchHit(Long id, String title, String location, PositionStatus status,
+                                Long departmentId, String departmentName, double score) {
+}
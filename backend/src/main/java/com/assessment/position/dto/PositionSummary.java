@@ -0,0 +1,9 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.model.PositionStatus;
+
+/**
+ * List-view row: only the columns the positions table shows, selected directly by JPQL.
+ */
+public record PositionSummary(Long id, String title, PositionStatus status, String location, String departmentName) {
+}
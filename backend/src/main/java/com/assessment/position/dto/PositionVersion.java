@@ -0,0 +1,7 @@
+package com.assessment.position.dto;
+
+/**
+ * The id and version of a position locked for a status transition; the transition writes {@code version + 1}.
+ */
+public record PositionVersion(Long id, Long version) {
+}
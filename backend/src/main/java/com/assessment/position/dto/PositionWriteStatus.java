@@ -0,0 +1,33 @@
+package com.assessment.position.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Progress of a write accepted by the write-behind queue. {@code positionId} is set once the write
+ * is committed, {@code errors} when it failed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PositionWriteStatus(String trackingId, State state, Long positionId, Map<String, String> errors,
+                                  Instant acceptedAt, Instant completedAt) {
+
+    public enum State {
+        QUEUED,
+        COMMITTED,
+        FAILED
+    }
+
+    public static PositionWriteStatus queued(String trackingId, Instant acceptedAt) {
+        return new PositionWriteStatus(trackingId, State.QUEUED, null, null, acceptedAt, null);
+    }
+
+    public PositionWriteStatus committed(Long positionId, Instant completedAt) {
+        return new PositionWriteStatus(trackingId, State.COMMITTED, positionId, null, acceptedAt, completedAt);
+    }
+
+    public PositionWriteStatus failed(Map<String, String> errors, Instant completedAt) {
+        return new PositionWriteStatus(trackingId, State.FAILED, null, errors, acceptedAt, completedAt);
+    }
+}
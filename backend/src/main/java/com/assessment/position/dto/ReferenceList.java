@@ -0,0 +1,10 @@
+package com.assessment.position.dto;
+
+import java.util.List;
+
+public record ReferenceList<T>(List<T> items, String etag) {
+
+    public static <T> ReferenceList<T> of(List<T> items) {
+        return new ReferenceList<>(List.copyOf(items), "W/\"" + Integer.toHexString(items.hashCode()) + "\"");
+    }
+}
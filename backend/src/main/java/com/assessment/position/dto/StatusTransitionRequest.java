@@ -0,0 +1,15 @@
+package com.assessment.position.dto;
+
+import com.assessment.position.model.PositionStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves the given positions to {@code to}. When {@code from} is set only positions currently in one
+ * of those statuses are changed; otherwise any position not already in {@code to} is.
+ */
+public record StatusTransitionRequest(@NotEmpty List<Long> ids, Set<PositionStatus> from, @NotNull PositionStatus to) {
+}
@@ -0,0 +1,40 @@
+package com.assessment.position.event;
+
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+
+/**
+ * Published for every position written, by {@link com.assessment.position.service.PositionService}
+ * and {@link com.assessment.position.service.PositionBulkService}, which also commits write-behind
+ * batches, imports and the status sweep.
+ */
+public record PositionChangedEvent(Type type, Long positionId, Position position) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /** Only the status changed; {@link #position()} carries just the id, the new status and the version written. */
+        STATUS_CHANGED
+    }
+
+    public static PositionChangedEvent created(Position position) {
+        return new PositionChangedEvent(Type.CREATED, position.getId(), position);
+    }
+
+    public static PositionChangedEvent updated(Position position) {
+        return new PositionChangedEvent(Type.UPDATED, position.getId(), position);
+    }
+
+    public static PositionChangedEvent statusChanged(Long positionId, PositionStatus status, Long version) {
+        Position position = new Position();
+        position.setId(positionId);
+        position.setStatus(status);
+        position.setVersion(version);
+        return new PositionChangedEvent(Type.STATUS_CHANGED, positionId, position);
+    }
+
+    public static PositionChangedEvent deleted(Long positionId) {
+        return new PositionChangedEvent(Type.DELETED, positionId, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.assessment.position.exception;
+
+/**
+ * Thrown when an If-Match precondition does not hold against the stored version.
+ */
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
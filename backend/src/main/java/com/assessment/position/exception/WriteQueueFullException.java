@@ -0,0 +1,10 @@
+package com.assessment.position.exception;
+
+/**
+ * Thrown when the write-behind queue cannot take another write; clients should retry later.
+ */
+public class WriteQueueFullException extends RuntimeException {
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+}
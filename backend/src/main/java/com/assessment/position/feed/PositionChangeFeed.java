@@ -0,0 +1,229 @@
+package com.assessment.position.feed;
+
+import com.assessment.position.dto.PositionChange;
+import com.assessment.position.event.PositionChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-sent change feed served from a fixed-size ring buffer; a subscriber that falls a buffer
+ * behind gets a {@code reset} event. Event ids are {@code <epoch>-<sequence>}.
+ */
+@Slf4j
+@Component
+public class PositionChangeFeed {
+    static final String RESET_EVENT = "reset";
+    // Events sent per subscriber before the buffer lock is taken again
+    private static final int SEND_BATCH = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Entry[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextSequence = 1;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Sends block on the client's socket, so each drain runs on its own virtual thread
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("position-feed-heartbeat").daemon().factory());
+    private final Counter resets;
+
+    private record Entry(long sequence, String json) {
+    }
+
+    public PositionChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${application.feed.buffer-size:10000}") int bufferSize,
+                              @Value("${application.feed.timeout:30m}") Duration timeout,
+                              @Value("${application.feed.heartbeat:15s}") Duration heartbeat) {
+        this.objectMapper = objectMapper;
+        this.ring = new Entry[bufferSize];
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        Gauge.builder("position.feed.subscribers", subscribers, Set::size)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+        this.resets = Counter.builder("position.feed.resets")
+                .description("Subscribers told to reload because their position was no longer buffered")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startHeartbeats() {
+        long millis = heartbeat.toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a stream. Without {@code lastEventId} it starts at the next change; with one, it first
+     * replays what the client missed.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        lock.lock();
+        try {
+            subscriber.cursor = lastEventId == null || lastEventId.isBlank() ? nextSequence : resumeCursor(lastEventId.trim());
+        } finally {
+            lock.unlock();
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.signal();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPositionChanged(PositionChangedEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(PositionChange.of(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize change of position " + event.positionId(), e);
+        }
+        lock.lock();
+        try {
+            ring[(int) (nextSequence % ring.length)] = new Entry(nextSequence, json);
+            nextSequence++;
+        } finally {
+            lock.unlock();
+        }
+        subscribers.forEach(Subscriber::signal);
+    }
+
+    void heartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue = true;
+            subscriber.signal();
+        });
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Sequence to continue from; 0 is always older than the buffer, so the first drain sends a reset
+    private long resumeCursor(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return 0;
+        }
+        try {
+            long sequence = Long.parseLong(lastEventId.substring(separator + 1));
+            return sequence >= 0 && sequence < nextSequence ? sequence + 1 : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Next sequence to send; only read and written by the drain that holds the draining flag
+        private long cursor;
+        private volatile boolean heartbeatDue = true;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void signal() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    while (sendNext()) {
+                        // keep sending until caught up
+                    }
+                    draining.set(false);
+                    // A change appended after the last check but before the flag was cleared saw it set
+                } while (behind() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping change feed subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+
+        // Sends one batch; false once caught up
+        private boolean sendNext() throws IOException {
+            List<Entry> batch = new ArrayList<>();
+            long resetAt = -1;
+            lock.lock();
+            try {
+                if (cursor < Math.max(1, nextSequence - ring.length)) {
+                    resetAt = nextSequence - 1;
+                    cursor = nextSequence;
+                }
+                for (; cursor < nextSequence && batch.size() < SEND_BATCH; cursor++) {
+                    batch.add(ring[(int) (cursor % ring.length)]);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (resetAt >= 0) {
+                resets.increment();
+                emitter.send(SseEmitter.event().name(RESET_EVENT).id(epoch + "-" + resetAt).data("{}", MediaType.APPLICATION_JSON));
+            }
+            for (Entry entry : batch) {
+                emitter.send(SseEmitter.event().id(epoch + "-" + entry.sequence()).data(entry.json(), MediaType.APPLICATION_JSON));
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            return !batch.isEmpty();
+        }
+
+        private boolean behind() {
+            lock.lock();
+            try {
+                return cursor < nextSequence || heartbeatDue;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.assessment.position.lifecycle;
+
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.service.PositionBulkService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closes OPEN positions whose closing date has passed and archives CLOSED positions whose closing
+ * date is older than the retention window. Each transition walks the matching rows in id order, one
+ * short transaction per chunk with a pause in between, so interactive requests never wait long for
+ * a lock or a pooled connection.
+ */
+@Slf4j
+@Component
+public class PositionStatusSweeper {
+    private final PositionBulkService positionBulkService;
+    private final int chunkSize;
+    private final Duration pause;
+    private final Duration archiveAfter;
+    private final Timer runs;
+    private final Counter chunks;
+    private final Counter closed;
+    private final Counter archived;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public record Result(int closed, int archived) {
+    }
+
+    public PositionStatusSweeper(PositionBulkService positionBulkService, MeterRegistry meterRegistry,
+                                 @Value("${application.sweeper.chunk-size:200}") int chunkSize,
+                                 @Value("${application.sweeper.pause:200ms}") Duration pause,
+                                 @Value("${application.sweeper.archive-after:90d}") Duration archiveAfter) {
+        this.positionBulkService = positionBulkService;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.archiveAfter = archiveAfter;
+        this.runs = Timer.builder("position.sweeper.runs")
+                .description("Duration of status sweeper runs")
+                .register(meterRegistry);
+        this.chunks = Counter.builder("position.sweeper.chunks")
+                .description("Chunks committed by the status sweeper")
+                .register(meterRegistry);
+        this.closed = transitions(meterRegistry, PositionStatus.CLOSED);
+        this.archived = transitions(meterRegistry, PositionStatus.ARCHIVED);
+    }
+
+    public void run() {
+        Result result = sweep(LocalDate.now());
+        if (result.closed() > 0 || result.archived() > 0) {
+            log.info("Status sweep closed {} and archived {} positions", result.closed(), result.archived());
+        }
+    }
+
+    /**
+     * One pass over both transitions as of {@code today}. A pass already in progress makes this a no-op.
+     */
+    public Result sweep(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Status sweep already running, skipping");
+            return new Result(0, 0);
+        }
+        try {
+            return runs.record(() -> new Result(
+                    sweep(PositionStatus.OPEN, PositionStatus.CLOSED, today, closed),
+                    sweep(PositionStatus.CLOSED, PositionStatus.ARCHIVED, today.minusDays(archiveAfter.toDays()), archived)));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int sweep(PositionStatus from, PositionStatus to, LocalDate closingBefore, Counter progress) {
+        int total = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = positionBulkService.transitionClosingBefore(from, to, closingBefore, afterId, chunkSize);
+            if (!ids.isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+                total += ids.size();
+                progress.increment(ids.size());
+                chunks.increment();
+                log.debug("Moved {} positions from {} to {}, up to id {}", ids.size(), from, to, afterId);
+            }
+        } while (ids.size() == chunkSize && pause());
+        return total;
+    }
+
+    // False when interrupted, i.e. the application is shutting down; the next run picks up the rest
+    private boolean pause() {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter transitions(MeterRegistry meterRegistry, PositionStatus to) {
+        return Counter.builder("position.sweeper.transitions")
+                .description("Positions moved by the status sweeper")
+                .tag("to", to.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.assessment.position.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
@@ -10,8 +11,10 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "positions")
 public class Position {
+    // Pooled sequence ids (a table on MySQL) keep JDBC insert batching available, unlike IDENTITY
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "position_seq")
+    @SequenceGenerator(name = "position_seq", sequenceName = "positions_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -45,4 +48,9 @@ public class Position {
     private BigDecimal budget;
 
     private LocalDate closingDate;
+
+    // Bumped on every update; exposed as the ETag and checked against If-Match
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 } 
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.assessment.position.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Fields that can be requested as a sparse fieldset. Association fields map to an attribute
+ * of the joined recruiter or department.
+ */
+public enum PositionField {
+    ID("id", null, "id"),
+    TITLE("title", null, "title"),
+    DESCRIPTION("description", null, "description"),
+    LOCATION("location", null, "location"),
+    STATUS("status", null, "status"),
+    BUDGET("budget", null, "budget"),
+    CLOSING_DATE("closingDate", null, "closingDate"),
+    RECRUITER_ID("recruiterId", "recruiter", "id"),
+    RECRUITER_NAME("recruiterName", "recruiter", "name"),
+    DEPARTMENT_ID("departmentId", "department", "id"),
+    DEPARTMENT_NAME("departmentName", "department", "name");
+
+    private final String name;
+    private final String association;
+    private final String attribute;
+
+    PositionField(String name, String association, String attribute) {
+        this.name = name;
+        this.association = association;
+        this.attribute = attribute;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAssociation() {
+        return association;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public static Optional<PositionField> fromName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.name.equals(name))
+                .findFirst();
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code title,status}. The id is always included first.
+     */
+    public static List<PositionField> parse(String fields) {
+        Set<PositionField> parsed = new LinkedHashSet<>();
+        parsed.add(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(fromName(trimmed)
+                        .orElseThrow(() -> new IllegalArgumentException("Unsupported field: " + trimmed)));
+            }
+        }
+        return new ArrayList<>(parsed);
+    }
+}
@@ -0,0 +1,22 @@
+package com.assessment.position.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * The one row every write transaction bumps before it commits; the list ETag is read from it.
+ */
+@Data
+@Entity
+@Table(name = "position_list_version")
+public class PositionListVersion {
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    private long version;
+
+    // Epoch millis of the last bump, by the clock of the instance that made it
+    private long changedAt;
+}
@@ -0,0 +1,105 @@
+package com.assessment.position.model;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The fields positions can be ordered by. Each one is backed by a {@code (column, id)} index in
+ * schema.sql, so ordering is read from the index instead of sorting the table.
+ */
+public enum PositionSortField {
+    ID("id", Position::getId),
+    TITLE("title", Position::getTitle),
+    LOCATION("location", Position::getLocation),
+    STATUS("status", Position::getStatus),
+    BUDGET("budget", Position::getBudget),
+    CLOSING_DATE("closingDate", Position::getClosingDate);
+
+    private final String property;
+    private final Function<Position, ? extends Comparable<?>> keyExtractor;
+
+    PositionSortField(String property, Function<Position, ? extends Comparable<?>> keyExtractor) {
+        this.property = property;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Comparable<?> keyOf(Position position) {
+        return keyExtractor.apply(position);
+    }
+
+    /**
+     * Sorts on this field with id as tie-breaker, which keeps pages stable across duplicate keys and
+     * matches the column order of the backing index.
+     */
+    public Sort toSort(Sort.Direction direction) {
+        Sort byId = Sort.by(direction, ID.property);
+        return this == ID ? byId : Sort.by(direction, property).and(byId);
+    }
+
+    /**
+     * The order the database returns for {@link #toSort}: NULL keys first when ascending, text in
+     * {@code textOrder}, statuses by their stored name, then id. Used to merge pages read from
+     * several shards.
+     */
+    public Comparator<Position> comparator(Sort.Direction direction, Comparator<String> textOrder) {
+        return ordering(direction, this::keyOf, Position::getId, textOrder);
+    }
+
+    /** The same order over sparse fieldset rows, which carry the field under its property name. */
+    public Comparator<Map<String, Object>> rowComparator(Sort.Direction direction, Comparator<String> textOrder) {
+        return ordering(direction, row -> row.get(property), row -> (Long) row.get(ID.property), textOrder);
+    }
+
+    /** {@link #comparator(Sort.Direction, Comparator)} for a sort built by {@link #toSort}; unsorted means by id ascending. */
+    public static Comparator<Position> comparator(Sort sort, Comparator<String> textOrder) {
+        Sort.Order order = primaryOrder(sort);
+        return of(order).comparator(order.getDirection(), textOrder);
+    }
+
+    public static Comparator<Map<String, Object>> rowComparator(Sort sort, Comparator<String> textOrder) {
+        Sort.Order order = primaryOrder(sort);
+        return of(order).rowComparator(order.getDirection(), textOrder);
+    }
+
+    /** The field a sort built by {@link #toSort} orders by; unsorted means by id. */
+    public static PositionSortField of(Sort sort) {
+        return of(primaryOrder(sort));
+    }
+
+    public static Optional<PositionSortField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+
+    private static Sort.Order primaryOrder(Sort sort) {
+        return sort.stream().findFirst().orElse(Sort.Order.asc(ID.property));
+    }
+
+    private static PositionSortField of(Sort.Order order) {
+        return fromProperty(order.getProperty())
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + order.getProperty()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<T> ordering(Sort.Direction direction, Function<T, ?> key, Function<T, Long> id,
+                                              Comparator<String> textOrder) {
+        Function<T, Comparable> comparableKey = item -> {
+            Object value = key.apply(item);
+            return value instanceof Enum<?> constant ? constant.name() : (Comparable) value;
+        };
+        Comparator<Comparable> keyOrder = (a, b) -> a instanceof String text ? textOrder.compare(text, (String) b) : a.compareTo(b);
+        Comparator<T> order = Comparator.comparing(comparableKey, Comparator.nullsFirst(keyOrder))
+                .thenComparing(id);
+        return direction.isDescending() ? order.reversed() : order;
+    }
+}
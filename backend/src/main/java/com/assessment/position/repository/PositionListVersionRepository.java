@@ -0,0 +1,17 @@
+package com.assessment.position.repository;
+
+import com.assessment.position.model.PositionListVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PositionListVersionRepository extends JpaRepository<PositionListVersion, Long> {
+
+    // Joins the writing transaction; holds the row lock only from here to its commit
+    @Transactional
+    @Modifying
+    @Query("UPDATE PositionListVersion v SET v.version = v.version + 1, v.changedAt = :changedAt WHERE v.id = 1")
+    int bump(@Param("changedAt") long changedAt);
+}
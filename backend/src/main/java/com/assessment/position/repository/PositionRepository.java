@@ -1,12 +1,65 @@
 package com.assessment.position.repository;
 
+import com.assessment.position.dto.PositionAggregateRow;
+import com.assessment.position.dto.PositionContribution;
+import com.assessment.position.dto.PositionSummary;
+import com.assessment.position.dto.PositionVersion;
 import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface PositionRepository extends JpaRepository<Position, Long> {
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PositionRepository extends JpaRepository<Position, Long>, JpaSpecificationExecutor<Position>,
+        PositionRepositoryCustom {
     @Query("SELECT p FROM Position p LEFT JOIN FETCH p.recruiter LEFT JOIN FETCH p.department")
     Page<Position> findAllPositionsWithDetails(Pageable pageable);
-} 
\ No newline at end of file
+
+    @Query(value = "SELECT new com.assessment.position.dto.PositionSummary(p.id, p.title, p.status, p.location, d.name) " +
+            "FROM Position p LEFT JOIN p.department d",
+            countQuery = "SELECT COUNT(p) FROM Position p")
+    Page<PositionSummary> findAllSummaries(Pageable pageable);
+
+    @Query("SELECT p.version FROM Position p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM Position p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Locks the rows so the transition UPDATE that follows affects exactly the ids returned, at the versions returned
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.assessment.position.dto.PositionVersion(p.id, p.version) FROM Position p " +
+            "WHERE p.id IN :ids AND p.status IN :from")
+    List<PositionVersion> lockVersionsInStatus(@Param("ids") Collection<Long> ids, @Param("from") Collection<PositionStatus> from);
+
+    // Keyset-ordered chunk for the status sweeper; the closing date is rechecked under the lock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.assessment.position.dto.PositionVersion(p.id, p.version) FROM Position p " +
+            "WHERE p.status = :status AND p.closingDate < :before AND p.id > :afterId ORDER BY p.id")
+    List<PositionVersion> lockVersionsClosingBefore(@Param("status") PositionStatus status, @Param("before") LocalDate before,
+                                                    @Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE Position p SET p.status = :to, p.version = p.version + 1 WHERE p.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("to") PositionStatus to);
+
+    @Query("SELECT new com.assessment.position.dto.PositionAggregateRow(p.department.id, p.status, p.recruiter.id, " +
+            "COUNT(p), COALESCE(SUM(p.budget), 0)) FROM Position p GROUP BY p.department.id, p.status, p.recruiter.id")
+    List<PositionAggregateRow> aggregateBudgets();
+
+    @Query("SELECT new com.assessment.position.dto.PositionContribution(p.id, p.department.id, p.status, p.recruiter.id, p.budget) " +
+            "FROM Position p")
+    List<PositionContribution> findContributions();
+}
@@ -0,0 +1,26 @@
+package com.assessment.position.repository;
+
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionField;
+import com.assessment.position.model.PositionSortField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface PositionRepositoryCustom {
+    List<Position> findPositionsAfter(PositionSortField sortField, Sort.Direction direction,
+                                      PositionCursor after, int limit);
+
+    Stream<Position> streamAllWithDetails(int fetchSize);
+
+    int updateState(Long id, Position source, Long expectedVersion);
+
+    int patchState(Long id, Map<String, Object> changes, Long expectedVersion);
+
+    Page<Map<String, Object>> findFields(List<PositionField> fields, Pageable pageable);
+}
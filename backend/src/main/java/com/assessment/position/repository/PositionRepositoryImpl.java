@@ -0,0 +1,180 @@
+package com.assessment.position.repository;
+
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionField;
+import com.assessment.position.model.PositionSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class PositionRepositoryImpl implements PositionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Position> findPositionsAfter(PositionSortField sortField, Sort.Direction direction,
+                                             PositionCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Position> query = cb.createQuery(Position.class);
+        Root<Position> root = query.from(Position.class);
+        // Outer joins keep positions as the driving table, so the order is read from its index
+        root.fetch("recruiter", JoinType.LEFT);
+        root.fetch("department", JoinType.LEFT);
+
+        if (after != null) {
+            query.where(seek(cb, root, sortField, direction, after));
+        }
+
+        Expression<?> id = root.get("id");
+        if (sortField == PositionSortField.ID) {
+            query.orderBy(direction.isAscending() ? cb.asc(id) : cb.desc(id));
+        } else {
+            Expression<?> key = root.get(sortField.getProperty());
+            query.orderBy(direction.isAscending()
+                    ? List.of(cb.asc(key), cb.asc(id))
+                    : List.of(cb.desc(key), cb.desc(id)));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Forward-only cursor over every position; each row is detached once read so the
+    // persistence context does not grow with the result set
+    @Override
+    public Stream<Position> streamAllWithDetails(int fetchSize) {
+        return entityManager.createQuery(
+                        "SELECT p FROM Position p JOIN FETCH p.recruiter JOIN FETCH p.department ORDER BY p.id", Position.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(position -> {
+                    entityManager.detach(position);
+                    return position;
+                });
+    }
+
+    // Copies the mutable state onto the row in a single UPDATE and bumps the version
+    @Override
+    public int updateState(Long id, Position source, Long expectedVersion) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("title", source.getTitle());
+        state.put("description", source.getDescription());
+        state.put("location", source.getLocation());
+        state.put("status", source.getStatus());
+        state.put("recruiter", source.getRecruiter());
+        state.put("department", source.getDepartment());
+        state.put("budget", source.getBudget());
+        state.put("closingDate", source.getClosingDate());
+        return patchState(id, state, expectedVersion);
+    }
+
+    // One UPDATE setting only the given attributes plus the version. With an expected version the
+    // UPDATE only matches that version, so a concurrent change leaves zero rows updated
+    @Override
+    @SuppressWarnings("unchecked")
+    public int patchState(Long id, Map<String, Object> changes, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Position> update = cb.createCriteriaUpdate(Position.class);
+        Root<Position> root = update.from(Position.class);
+        changes.forEach((attribute, value) -> update.set((Path<Object>) root.get(attribute), value));
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+
+        Predicate byId = cb.equal(root.get("id"), id);
+        update.where(expectedVersion == null ? byId : cb.and(byId, cb.equal(version, expectedVersion)));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    // Selects only the requested columns; recruiter/department are joined only when one of their
+    // non-key attributes is requested, their ids come from the foreign key columns
+    @Override
+    public Page<Map<String, Object>> findFields(List<PositionField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Position> root = query.from(Position.class);
+        Map<String, Join<Position, ?>> joins = new HashMap<>();
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> path(root, joins, field).alias(field.getName()))
+                .toList());
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Map<String, Object>> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList()
+                .stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    fields.forEach(field -> row.put(field.getName(), tuple.get(field.getName())));
+                    return row;
+                })
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            count.select(cb.count(count.from(Position.class)));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    private static Path<?> path(Root<Position> root, Map<String, Join<Position, ?>> joins, PositionField field) {
+        if (field.getAssociation() == null) {
+            return root.get(field.getAttribute());
+        }
+        if (field.getAttribute().equals("id")) {
+            return root.get(field.getAssociation()).get("id");
+        }
+        return joins.computeIfAbsent(field.getAssociation(), association -> root.join(association, JoinType.LEFT))
+                .get(field.getAttribute());
+    }
+
+    // Rows strictly after (key, id) in the requested order. NULL keys sort low on both H2 and
+    // MySQL, i.e. first when ascending and last when descending, so the seek mirrors that.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seek(CriteriaBuilder cb, Root<Position> root, PositionSortField sortField,
+                           Sort.Direction direction, PositionCursor after) {
+        Expression<Long> id = root.get("id");
+        boolean ascending = direction.isAscending();
+        Predicate idAfter = ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+        if (sortField == PositionSortField.ID) {
+            return idAfter;
+        }
+
+        Expression<Comparable> key = root.get(sortField.getProperty());
+        if (after.key() == null) {
+            Predicate sameKey = cb.and(cb.isNull(key), idAfter);
+            return ascending ? cb.or(sameKey, cb.isNotNull(key)) : sameKey;
+        }
+
+        Comparable value = (Comparable) after.key();
+        Predicate keyAfter = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        Predicate seek = cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter));
+        return ascending ? seek : cb.or(seek, cb.isNull(key));
+    }
+}
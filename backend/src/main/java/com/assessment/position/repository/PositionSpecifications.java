@@ -0,0 +1,60 @@
+package com.assessment.position.repository;
+
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.model.Position;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PositionSpecifications {
+
+    private PositionSpecifications() {
+    }
+
+    /**
+     * Predicates for a {@link PositionFilter}. Department and recruiter compare the foreign key
+     * columns, so filtering adds no joins.
+     */
+    public static Specification<Position> matching(PositionFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!filter.statuses().isEmpty()) {
+                predicates.add(root.get("status").in(filter.statuses()));
+            }
+            if (!filter.departmentIds().isEmpty()) {
+                predicates.add(root.get("department").get("id").in(filter.departmentIds()));
+            }
+            if (!filter.recruiterIds().isEmpty()) {
+                predicates.add(root.get("recruiter").get("id").in(filter.recruiterIds()));
+            }
+            if (!filter.locations().isEmpty()) {
+                predicates.add(root.get("location").in(filter.locations()));
+            }
+            if (filter.closingFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("closingDate"), filter.closingFrom()));
+            }
+            if (filter.closingTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("closingDate"), filter.closingTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Fetches recruiter and department with the page. The joins are outer so positions stays the
+     * driving table and the sort can be read from its index; with inner joins the optimizer may start
+     * from a small reference table and sort every position instead. Count queries are left alone.
+     */
+    public static Specification<Position> withDetails() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("recruiter", JoinType.LEFT);
+                root.fetch("department", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
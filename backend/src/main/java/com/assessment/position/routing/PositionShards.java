@@ -0,0 +1,178 @@
+package com.assessment.position.routing;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Shards positions across databases by department; shard {@code k} allocates ids from
+ * {@code [k * ID_RANGE, (k + 1) * ID_RANGE)}, so an id names its shard.
+ */
+@Component
+public class PositionShards {
+    public static final long ID_RANGE = 1L << 40;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+    private final TextCollation textCollation;
+    private final long maxOffset;
+    private final ExecutorService scatter = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PositionShards(@Value("${application.sharding.shard-urls:}") String shardUrls,
+                          @Value("${application.sharding.text-collation:binary}") TextCollation textCollation,
+                          @Value("${application.sharding.max-offset:10000}") long maxOffset) {
+        this.count = 1 + (int) Arrays.stream(shardUrls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).count();
+        this.textCollation = textCollation;
+        this.maxOffset = maxOffset;
+    }
+
+    /** Refuses new shard reads and waits for those still running. */
+    @PreDestroy
+    void stop() {
+        scatter.close();
+    }
+
+    /** The shard whose connection and id block the current thread uses; 0 outside {@link #on}. */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    /** Whether the current thread runs inside {@link #on}. */
+    public static boolean selected() {
+        return CURRENT.get() != null;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int ofDepartment(Long departmentId) {
+        return count == 1 ? 0 : (int) Math.floorMod(departmentId, (long) count);
+    }
+
+    /** The shard that allocated {@code id}; ids beyond the last range fall to the last shard, which has no such row. */
+    public int ofPosition(Long id) {
+        return count == 1 ? 0 : (int) Math.min(Math.max(id, 0) / ID_RANGE, count - 1);
+    }
+
+    /** The order the shards sort text in, for merging their pages; a new comparator on every call. */
+    public Comparator<String> textOrder() {
+        return textCollation.comparator();
+    }
+
+    public List<Integer> all() {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    /** Runs {@code work} against {@code shard}; transactions started in it open there. */
+    public <T> T on(int shard, Callable<T> work) throws Exception {
+        Integer previous = CURRENT.get();
+        if (shard != current() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction on shard " + current());
+        }
+        CURRENT.set(shard);
+        try {
+            return work.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code work} on each of {@code shards} in parallel; results in the same order. Inside a
+     * transaction, the part for the transaction's own shard runs on the calling thread and joins it.
+     */
+    public <T> List<T> onEach(Collection<Integer> shards, Callable<T> work) throws Exception {
+        boolean joinCurrent = TransactionSynchronizationManager.isActualTransactionActive();
+        List<Future<T>> futures = shards.stream()
+                .map(shard -> joinCurrent && shard == current() ? null : scatter.submit(() -> on(shard, work)))
+                .toList();
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(future == null ? work.call() : await(future));
+        }
+        return results;
+    }
+
+    /**
+     * The page {@code query} would return from one database holding every shard. Each shard is
+     * asked for everything up to the end of the page, and the sorted partial results are merged,
+     * so deep pages cost {@code offset + size} rows per shard; offsets beyond
+     * {@code application.sharding.max-offset} are rejected.
+     */
+    public <T> Page<T> readPage(Collection<Integer> shards, Pageable pageable, Function<Pageable, Callable<Page<T>>> query,
+                                Comparator<? super T> order) throws Exception {
+        if (pageable.getOffset() > maxOffset) {
+            throw new IllegalArgumentException("Pages starting past row " + maxOffset
+                    + " are not served across shards; page with the limit and cursor parameters instead");
+        }
+        int wanted = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        List<Page<T>> parts = onEach(shards, query.apply(PageRequest.of(0, wanted, pageable.getSort())));
+        long total = parts.stream().mapToLong(Page::getTotalElements).sum();
+        List<T> content = merge(parts.stream().map(Page::getContent).toList(), order, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /** K-way merge of lists each sorted by {@code order}, skipping {@code skip} items and returning at most {@code limit}. */
+    public static <T> List<T> merge(List<? extends List<T>> sorted, Comparator<? super T> order, long skip, int limit) {
+        // Heads of the lists as {list, index} pairs, smallest first
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                (a, b) -> order.compare(sorted.get(a[0]).get(a[1]), sorted.get(b[0]).get(b[1])));
+        for (int i = 0; i < sorted.size(); i++) {
+            if (!sorted.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        List<T> merged = new ArrayList<>(limit);
+        for (long taken = 0; !heads.isEmpty() && merged.size() < limit; taken++) {
+            int[] head = heads.poll();
+            List<T> list = sorted.get(head[0]);
+            if (taken >= skip) {
+                merged.add(list.get(head[1]));
+            }
+            if (++head[1] < list.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.assessment.position.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients wrote within the last {@code maxLag}. Their requests are pinned to the
+ * primary so a client never reads its own write back from a replica that has not applied it yet.
+ * {@code maxLag} should exceed the replication lag the replicas are allowed to reach.
+ */
+public class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    // Bounds memory if keys are churned; an evicted client merely loses its pin early
+    private static final long MAX_CLIENTS = 10_000;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration maxLag) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag)
+                .maximumSize(MAX_CLIENTS)
+                .build();
+    }
+
+    public void recordWrite(String client) {
+        recentWriters.put(client, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(String client) {
+        return recentWriters.getIfPresent(client) != null;
+    }
+
+    /** Whether read-only transactions on this thread must still go to the primary. */
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,81 @@
+package com.assessment.position.routing;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pins reads of clients that wrote within {@code maxLag} to the primary. Clients are told apart by an
+ * {@code X-Client-Id} header, or else by a {@code client_id} cookie handed out on their first request.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    private static final Set<String> READ_METHODS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+    static final String CLIENT_HEADER = "X-Client-Id";
+    static final String CLIENT_COOKIE = "client_id";
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String client = client(request);
+        if (client == null) {
+            client = UUID.randomUUID().toString();
+            request.setAttribute(CLIENT_COOKIE, client);
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(CLIENT_COOKIE, client)
+                    .path("/api")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+        if (isWrite(request)) {
+            readYourWrites.recordWrite(client);
+        } else if (readYourWrites.wroteRecently(client)) {
+            ReadYourWrites.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWrites.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWrites.unpin();
+        // Recorded at the start too: the response can reach the client before this runs
+        if (isWrite(request)) {
+            readYourWrites.recordWrite(client(request));
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return !READ_METHODS.contains(request.getMethod());
+    }
+
+    // Null for a client seen for the first time; the id handed to it is kept on the request
+    private static String client(HttpServletRequest request) {
+        String header = request.getHeader(CLIENT_HEADER);
+        if (header != null && !header.isBlank()) {
+            return header;
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (CLIENT_COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return (String) request.getAttribute(CLIENT_COOKIE);
+    }
+}
@@ -0,0 +1,105 @@
+package com.assessment.position.routing;
+
+import com.assessment.position.model.Position;
+import jakarta.persistence.SequenceGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Keeps each shard's position ids inside {@code [k * ID_RANGE, (k + 1) * ID_RANGE)}. Ids are routed
+ * by range alone, so an id from the wrong range would silently read or overwrite another shard's
+ * position. On H2 {@code positions_seq} is a sequence; MySQL has no sequences, and Hibernate
+ * emulates it with a {@code positions_seq} table holding {@code next_val}.
+ */
+public final class ShardIdRanges {
+    private static final String SEQUENCE = "positions_seq";
+
+    private ShardIdRanges() {
+    }
+
+    /**
+     * Points a shard's sequence at the start of its range if it holds no ids there yet. The pooled
+     * optimizer reads a value as the top of a block, so the next value is one block above the start.
+     */
+    public static void startAt(DataSource shard, int index) {
+        long firstId = index * PositionShards.ID_RANGE;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM positions", Long.class);
+        if (maxId != null && maxId < firstId) {
+            long next = firstId - 1 + blockSize();
+            if (isTable(shard)) {
+                jdbcTemplate.update("UPDATE " + SEQUENCE + " SET next_val = ?", next);
+            } else {
+                jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + next);
+            }
+        }
+    }
+
+    /**
+     * Fails unless every shard's stored ids and next id block lie inside its range.
+     *
+     * @throws IllegalStateException naming the shard and the sequence value it needs
+     */
+    public static void check(List<? extends DataSource> shards) {
+        for (int index = 0; index < shards.size(); index++) {
+            DataSource shard = shards.get(index);
+            long low = index * PositionShards.ID_RANGE;
+            long high = low + PositionShards.ID_RANGE;
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+            Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM positions", Long.class);
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM positions", Long.class);
+            if (minId != null && (minId < low || maxId >= high)) {
+                throw new IllegalStateException("Shard " + index + " holds position ids " + minId + " to " + maxId
+                        + " outside its range [" + low + ", " + high + ")");
+            }
+            long next = nextValue(shard);
+            // The pooled optimizer never hands out ids below 1
+            long firstOfBlock = Math.max(1, next - blockSize() + 1);
+            if (firstOfBlock < low || next >= high) {
+                throw new IllegalStateException("Shard " + index + " would allocate position ids from " + firstOfBlock
+                        + ", outside its range [" + low + ", " + high + "); set the next value of " + SEQUENCE + " to "
+                        + Math.max(low - 1 + blockSize(), maxId != null ? maxId + blockSize() : 0));
+            }
+        }
+    }
+
+    private static long nextValue(DataSource shard) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        Long next = isTable(shard)
+                ? jdbcTemplate.queryForObject("SELECT next_val FROM " + SEQUENCE, Long.class)
+                : jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = ?",
+                        Long.class, SEQUENCE.toUpperCase());
+        if (next == null) {
+            throw new IllegalStateException(SEQUENCE + " has no next value");
+        }
+        return next;
+    }
+
+    private static boolean isTable(DataSource shard) {
+        try (Connection connection = shard.getConnection()) {
+            for (String name : List.of(SEQUENCE, SEQUENCE.toUpperCase())) {
+                try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot inspect " + SEQUENCE, e);
+        }
+    }
+
+    private static long blockSize() {
+        try {
+            return Position.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class).allocationSize();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.assessment.position.routing;
+
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.PositionDataFormat;
+import com.assessment.position.dto.PositionSummary;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionField;
+import com.assessment.position.model.PositionListVersion;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.repository.PositionRepository;
+import com.assessment.position.service.PositionBulkService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Applies sharding when {@code POSITION_SHARD_URLS} is set; without it this aspect is not registered
+ * and the services run unchanged. It runs before the transaction advice, so every transaction opens
+ * on the shard chosen here. Work on one position goes to the shard its id or department names, bulk
+ * writes commit once per shard, and a position query made without a shard reads every shard in
+ * parallel and merges the sorted results.
+ */
+@Slf4j
+@Aspect
+@Component
+// Ahead of the transaction advice, behind the interceptor that exposes the invocation for argument binding
+@Order(0)
+// Not a placeholder inside the expression: JDBC URLs may contain quotes
+@ConditionalOnExpression("T(org.springframework.util.StringUtils).hasText(environment['application.sharding.shard-urls'])")
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+    private static final List<PositionField> SUMMARY_FIELDS = List.of(
+            PositionField.ID, PositionField.TITLE, PositionField.STATUS, PositionField.LOCATION, PositionField.DEPARTMENT_NAME);
+
+    private final PositionShards positionShards;
+
+    @Around("(execution(* com.assessment.position.service.PositionService.getPosition(..))"
+            + " || execution(* com.assessment.position.service.PositionService.getPositionVersion(..))"
+            + " || execution(* com.assessment.position.service.PositionService.deletePosition(..))) && args(id)")
+    public Object onPositionShard(ProceedingJoinPoint call, Long id) throws Throwable {
+        return positionShards.on(positionShards.ofPosition(id), proceeding(call));
+    }
+
+    @Around("execution(* com.assessment.position.service.PositionService.createPosition(..)) && args(position)")
+    public Object onDepartmentShard(ProceedingJoinPoint call, Position position) throws Throwable {
+        return positionShards.on(positionShards.ofDepartment(position.getDepartment().getId()), proceeding(call));
+    }
+
+    @Around("execution(* com.assessment.position.service.PositionService.updatePosition(..)) && args(id, position, ..)")
+    public Object onUpdate(ProceedingJoinPoint call, Long id, Position position) throws Throwable {
+        if (position.getDepartment() != null && position.getDepartment().getId() != null) {
+            checkSameShard(id, position.getDepartment().getId());
+        }
+        return positionShards.on(positionShards.ofPosition(id), proceeding(call));
+    }
+
+    @Around("execution(* com.assessment.position.service.PositionService.patchPosition(..)) && args(id, patch, ..)")
+    public Object onPatch(ProceedingJoinPoint call, Long id, ObjectNode patch) throws Throwable {
+        JsonNode departmentId = patch.path("department").path("id");
+        if (departmentId.canConvertToLong()) {
+            checkSameShard(id, departmentId.asLong());
+        }
+        return positionShards.on(positionShards.ofPosition(id), proceeding(call));
+    }
+
+    @Around("execution(* com.assessment.position.service.PositionBulkService.createPositions(..)) && args(positions) && target(bulk)")
+    public Object onBulkCreate(ProceedingJoinPoint call, List<Position> positions, PositionBulkService bulk) throws Throwable {
+        bulk.checkSize(positions);
+        return writeByShard(call, positions, position -> position != null && position.getDepartment() != null
+                && position.getDepartment().getId() != null ? positionShards.ofDepartment(position.getDepartment().getId()) : 0,
+                // Ids assigned before a rollback are not reported
+                position -> null, List.of());
+    }
+
+    @Around("execution(* com.assessment.position.service.PositionBulkService.updatePositions(..)) && args(positions) && target(bulk)")
+    public Object onBulkUpdate(ProceedingJoinPoint call, List<Position> positions, PositionBulkService bulk) throws Throwable {
+        bulk.checkSize(positions);
+        List<BulkItemResult> moves = new ArrayList<>();
+        for (int i = 0; i < positions.size(); i++) {
+            Position position = positions.get(i);
+            if (position != null && position.getId() != null && position.getDepartment() != null
+                    && position.getDepartment().getId() != null
+                    && positionShards.ofDepartment(position.getDepartment().getId()) != positionShards.ofPosition(position.getId())) {
+                moves.add(BulkItemResult.failure(i, position.getId(),
+                        Map.of("department", "Department " + position.getDepartment().getId() + " is stored on another shard")));
+            }
+        }
+        return writeByShard(call, positions, position -> position != null && position.getId() != null
+                ? positionShards.ofPosition(position.getId()) : 0, position -> position != null ? position.getId() : null, moves);
+    }
+
+    @Around("(execution(* com.assessment.position.service.PositionBulkService.deletePositions(..))"
+            + " || execution(* com.assessment.position.service.PositionBulkService.transitionStatus(..))) && args(ids, ..) && target(bulk)")
+    public Object onBulkIds(ProceedingJoinPoint call, List<Long> ids, PositionBulkService bulk) throws Throwable {
+        bulk.checkSize(ids);
+        return writeByShard(call, ids, id -> id != null ? positionShards.ofPosition(id) : 0, Function.identity(), List.of());
+    }
+
+    /**
+     * Visits the shards in id order from the one holding {@code afterId}, so a chunk may span the
+     * end of one shard and the start of the next.
+     */
+    @Around("execution(* com.assessment.position.service.PositionBulkService.transitionClosingBefore(..))"
+            + " && args(from, to, closingBefore, afterId, limit)")
+    public Object onClosingBefore(ProceedingJoinPoint call, PositionStatus from, PositionStatus to, LocalDate closingBefore,
+                                  long afterId, int limit) throws Throwable {
+        List<Long> moved = new ArrayList<>();
+        for (int shard = positionShards.ofPosition(afterId); shard < positionShards.count() && moved.size() < limit; shard++) {
+            List<Long> ids = positionShards.on(shard, proceeding(call, from, to, closingBefore, afterId, limit - moved.size()));
+            moved.addAll(ids);
+        }
+        return moved;
+    }
+
+    /**
+     * Exports one shard after the other, each in its own transaction. A CSV header is only written
+     * by the first shard that has rows.
+     */
+    @Around("execution(* com.assessment.position.service.PositionExportService.export(..)) && args(format, out)")
+    public Object onExport(ProceedingJoinPoint call, PositionDataFormat format, OutputStream out) throws Throwable {
+        long rows = 0;
+        long[] written = {0};
+        // Counts what the shards before have written, so later shards know a header is already out
+        OutputStream counting = new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                written[0]++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                written[0] += len;
+            }
+        };
+        for (int shard = 0; shard < positionShards.count(); shard++) {
+            OutputStream target = format == PositionDataFormat.CSV && written[0] > 0 ? withoutFirstLine(counting) : counting;
+            rows += positionShards.<Long>on(shard, proceeding(call, format, target));
+        }
+        return rows;
+    }
+
+    @Around("(execution(* com.assessment.position.repository.PositionRepository.findAllPositionsWithDetails(..))"
+            + " || execution(* com.assessment.position.repository.PositionRepository.findAll("
+            + "org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Pageable)))"
+            + " && args(.., pageable)")
+    public Object readPositionPage(ProceedingJoinPoint call, Pageable pageable) throws Throwable {
+        if (PositionShards.selected()) {
+            return call.proceed();
+        }
+        Object[] args = call.getArgs();
+        return positionShards.readPage(positionShards.all(), pageable, page -> proceeding(call, replaceLast(args, page)),
+                PositionSortField.comparator(pageable.getSort(), positionShards.textOrder()));
+    }
+
+    @Around("execution(* com.assessment.position.repository.PositionRepository.findFields(..)) && args(fields, pageable)")
+    public Object readFieldPage(ProceedingJoinPoint call, List<PositionField> fields, Pageable pageable) throws Throwable {
+        if (PositionShards.selected()) {
+            return call.proceed();
+        }
+        // Shard pages are merged on the sort key, which is dropped again if it was not requested
+        PositionField sortKey = PositionField.fromName(PositionSortField.of(pageable.getSort()).getProperty()).orElseThrow();
+        List<PositionField> selected = fields.contains(sortKey) ? fields : Stream.concat(fields.stream(), Stream.of(sortKey)).toList();
+        Page<Map<String, Object>> page = positionShards.readPage(positionShards.all(), pageable,
+                request -> proceeding(call, selected, request),
+                PositionSortField.rowComparator(pageable.getSort(), positionShards.textOrder()));
+        if (selected != fields) {
+            page.forEach(row -> row.remove(sortKey.getName()));
+        }
+        return page;
+    }
+
+    // Summaries lack the budget and closing date that shard pages may be merged on, so read field rows instead
+    @Around("execution(* com.assessment.position.repository.PositionRepository.findAllSummaries(..)) && args(pageable) && this(repository)")
+    public Object readSummaryPage(ProceedingJoinPoint call, Pageable pageable, PositionRepository repository) throws Throwable {
+        if (PositionShards.selected()) {
+            return call.proceed();
+        }
+        return repository.findFields(SUMMARY_FIELDS, pageable).map(row -> new PositionSummary((Long) row.get("id"),
+                (String) row.get("title"), (PositionStatus) row.get("status"), (String) row.get("location"),
+                (String) row.get("departmentName")));
+    }
+
+    @Around("execution(* com.assessment.position.repository.PositionRepository.findPositionsAfter(..))"
+            + " && args(sortField, direction, after, limit)")
+    public Object readPositionsAfter(ProceedingJoinPoint call, PositionSortField sortField, Sort.Direction direction,
+                                     Object after, int limit) throws Throwable {
+        if (PositionShards.selected()) {
+            return call.proceed();
+        }
+        List<List<Position>> parts = positionShards.onEach(positionShards.all(), proceeding(call));
+        return PositionShards.merge(parts, sortField.comparator(direction, positionShards.textOrder()), 0, limit);
+    }
+
+    @Around("execution(* com.assessment.position.repository.PositionRepository.findContributions(..))"
+            + " || execution(* com.assessment.position.repository.PositionRepository.aggregateBudgets(..))")
+    public Object readAll(ProceedingJoinPoint call) throws Throwable {
+        if (PositionShards.selected()) {
+            return call.proceed();
+        }
+        List<List<?>> parts = positionShards.onEach(positionShards.all(), proceeding(call));
+        return parts.stream().flatMap(List::stream).toList();
+    }
+
+    // Each shard bumps its own row; the sum moves whenever any of them does
+    @Around("execution(* com.assessment.position.repository.PositionListVersionRepository.findById(..))")
+    public Object readListVersion(ProceedingJoinPoint call) throws Throwable {
+        if (PositionShards.selected()) {
+            return call.proceed();
+        }
+        List<Optional<PositionListVersion>> parts = positionShards.onEach(positionShards.all(), proceeding(call));
+        if (parts.stream().anyMatch(Optional::isEmpty)) {
+            return Optional.empty();
+        }
+        PositionListVersion total = new PositionListVersion();
+        total.setId(PositionListVersion.ID);
+        parts.forEach(part -> {
+            total.setVersion(total.getVersion() + part.get().getVersion());
+            total.setChangedAt(Math.max(total.getChangedAt(), part.get().getChangedAt()));
+        });
+        return Optional.of(total);
+    }
+
+    /**
+     * Writes each shard's items through {@code call} in a transaction of their own, then reports the
+     * results at the items' request indexes. A shard's results are kept only once it commits; if it
+     * rolls back, each of its items is reported as rolled back instead. Items without an id or
+     * department go to shard 0, where the service rejects them.
+     */
+    private <T> BulkResponse writeByShard(ProceedingJoinPoint call, List<T> items, ToIntFunction<T> shardOf,
+                                          Function<T, Long> idOf, List<BulkItemResult> rejected) throws Throwable {
+        Set<Integer> skipped = rejected.stream().map(BulkItemResult::index).collect(Collectors.toSet());
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (!skipped.contains(i)) {
+                indexesByShard.computeIfAbsent(shardOf.applyAsInt(items.get(i)), shard -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(rejected);
+        Object[] args = call.getArgs();
+        for (Map.Entry<Integer, List<Integer>> shard : indexesByShard.entrySet()) {
+            List<Integer> indexes = shard.getValue();
+            List<T> shardItems = indexes.stream().map(items::get).toList();
+            Object[] shardArgs = args.clone();
+            shardArgs[0] = shardItems;
+            try {
+                BulkResponse response = positionShards.on(shard.getKey(), proceeding(call, shardArgs));
+                response.results().forEach(result -> results.add(
+                        new BulkItemResult(indexes.get(result.index()), result.id(), result.status(), result.errors())));
+            } catch (RuntimeException e) {
+                log.warn("Bulk write of {} items rolled back on shard {}", indexes.size(), shard.getKey(), e);
+                String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                indexes.forEach(index -> results.add(BulkItemResult.rolledBack(index,
+                        items.get(index) != null ? idOf.apply(items.get(index)) : null, reason)));
+            }
+        }
+        return BulkResponse.of(results);
+    }
+
+    // Rows do not move between shards, so a position keeps to departments of its own shard
+    private void checkSameShard(Long id, Long departmentId) {
+        if (positionShards.ofDepartment(departmentId) != positionShards.ofPosition(id)) {
+            throw new IllegalArgumentException("Position " + id + " cannot move to department " + departmentId
+                    + ", which is stored on another shard");
+        }
+    }
+
+    private static Object[] replaceLast(Object[] args, Object last) {
+        Object[] replaced = Arrays.copyOf(args, args.length);
+        replaced[replaced.length - 1] = last;
+        return replaced;
+    }
+
+    // The work of one shard: the rest of the call, with the original arguments unless others are given
+    @SuppressWarnings("unchecked")
+    private static <T> Callable<T> proceeding(ProceedingJoinPoint call, Object... args) {
+        return () -> {
+            try {
+                return (T) (args.length == 0 ? call.proceed() : call.proceed(args));
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    // Drops everything up to and including the first line break, i.e. a CSV header already written
+    private static OutputStream withoutFirstLine(OutputStream out) {
+        return new FilterOutputStream(out) {
+            private boolean header = true;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (header) {
+                    header = b != '\n';
+                } else {
+                    out.write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                int start = off;
+                while (header && start < off + len) {
+                    header = b[start++] != '\n';
+                }
+                if (start < off + len) {
+                    out.write(b, start, off + len - start);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
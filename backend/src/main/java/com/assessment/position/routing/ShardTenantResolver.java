@@ -0,0 +1,21 @@
+package com.assessment.position.routing;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Names each Hibernate session after its shard. Hibernate keeps a separate block of pooled
+ * sequence values per tenant, so ids fetched from one shard's sequence are only used for rows
+ * inserted into that shard. Connections still come from {@link ShardRoutingDataSource}.
+ */
+public class ShardTenantResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return String.valueOf(PositionShards.current());
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
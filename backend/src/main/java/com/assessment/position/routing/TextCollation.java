@@ -0,0 +1,27 @@
+package com.assessment.position.routing;
+
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * How the shard databases order text columns. Pages from several shards are merged in memory, and
+ * a cursor taken from a merged page is sought on every shard, so the merge must order titles and
+ * locations as the database does or rows are skipped and repeated.
+ */
+public enum TextCollation {
+    /** Java string order, as H2 and MySQL {@code _bin} collations sort. */
+    BINARY,
+    /** Ignores case and accents, approximating MySQL's default {@code utf8mb4_0900_ai_ci}. */
+    CASE_INSENSITIVE;
+
+    /** A new comparator on every call; collators synchronize on themselves, so one is not shared across requests. */
+    public Comparator<String> comparator() {
+        if (this == BINARY) {
+            return Comparator.naturalOrder();
+        }
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator::compare;
+    }
+}
@@ -0,0 +1,325 @@
+package com.assessment.position.search;
+
+import com.assessment.position.dto.FacetCount;
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.dto.PositionFacets;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import com.assessment.position.service.ReferenceDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Bitmap index of the filterable position attributes. Every position gets a dense ordinal and every
+ * facet value a {@link BitSet} of ordinals, so facet counts for any filter combination are a few
+ * bitwise ANDs instead of one COUNT query per facet. Kept current from committed writes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PositionFacetIndex {
+    private final PositionRepository positionRepository;
+    private final ReferenceDataService referenceDataService;
+
+    @Value("${application.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<FacetDocument> documents = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<PositionStatus, BitSet> byStatus = new EnumMap<>(PositionStatus.class);
+    private final Map<Long, BitSet> byDepartment = new HashMap<>();
+    private final Map<Long, BitSet> byRecruiter = new HashMap<>();
+    private final Map<String, BitSet> byLocation = new HashMap<>();
+    private final TreeMap<LocalDate, BitSet> byClosingDate = new TreeMap<>();
+    private final Queue<PositionChangedEvent> pendingDuringRebuild = new ArrayDeque<>();
+    private boolean rebuilding;
+
+    private record FacetDocument(PositionStatus status, Long departmentId, Long recruiterId, String location,
+                                 LocalDate closingDate) {
+
+        static FacetDocument of(Position position) {
+            return new FacetDocument(position.getStatus(),
+                    position.getDepartment() != null ? position.getDepartment().getId() : null,
+                    position.getRecruiter() != null ? position.getRecruiter().getId() : null,
+                    position.getLocation(), position.getClosingDate());
+        }
+
+        FacetDocument withStatus(PositionStatus newStatus) {
+            return new FacetDocument(newStatus, departmentId, recruiterId, location, closingDate);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            ordinals.clear();
+            documents.clear();
+            freeOrdinals.clear();
+            live.clear();
+            byStatus.clear();
+            byDepartment.clear();
+            byRecruiter.clear();
+            byLocation.clear();
+            byClosingDate.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        PositionCursor cursor = null;
+        List<Position> batch;
+        do {
+            batch = positionRepository.findPositionsAfter(PositionSortField.ID, Sort.Direction.ASC, cursor, rebuildBatchSize);
+            lock.writeLock().lock();
+            try {
+                batch.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                cursor = PositionCursor.after(batch.get(batch.size() - 1), PositionSortField.ID, Sort.Direction.ASC);
+            }
+        } while (batch.size() == rebuildBatchSize);
+
+        lock.writeLock().lock();
+        try {
+            PositionChangedEvent event;
+            while ((event = pendingDuringRebuild.poll()) != null) {
+                apply(event);
+            }
+            rebuilding = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Position facet index rebuilt with {} positions in {} ms",
+                size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPositionChanged(PositionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                pendingDuringRebuild.add(event);
+            } else {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts per value of each facet. A facet is counted with every filter applied except its own,
+     * so selecting one status still shows how many positions the other statuses would add.
+     */
+    public PositionFacets facets(PositionFilter filter) {
+        List<FacetCount> status;
+        List<FacetCount> department;
+        List<FacetCount> recruiter;
+        List<FacetCount> location;
+        lock.readLock().lock();
+        try {
+            BitSet statusMatches = union(byStatus, filter.statuses());
+            BitSet departmentMatches = union(byDepartment, filter.departmentIds());
+            BitSet recruiterMatches = union(byRecruiter, filter.recruiterIds());
+            BitSet locationMatches = union(byLocation, filter.locations());
+            BitSet closingMatches = closingBetween(filter.closingFrom(), filter.closingTo());
+
+            BitSet scratch = new BitSet(live.length());
+            status = count(byStatus,
+                    intersect(departmentMatches, recruiterMatches, locationMatches, closingMatches), Enum::name, scratch);
+            department = mostFrequentFirst(count(byDepartment,
+                    intersect(statusMatches, recruiterMatches, locationMatches, closingMatches), String::valueOf, scratch));
+            recruiter = mostFrequentFirst(count(byRecruiter,
+                    intersect(statusMatches, departmentMatches, locationMatches, closingMatches), String::valueOf, scratch));
+            location = mostFrequentFirst(count(byLocation,
+                    intersect(statusMatches, departmentMatches, recruiterMatches, closingMatches), Function.identity(), scratch));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Names come from the reference data cache, outside the lock
+        Map<Long, Department> departments = referenceDataService.findDepartments(ids(department));
+        Map<Long, Recruiter> recruiters = referenceDataService.findRecruiters(ids(recruiter));
+        return new PositionFacets(status,
+                withLabels(department, id -> departments.containsKey(id) ? departments.get(id).getName() : null),
+                withLabels(recruiter, id -> recruiters.containsKey(id) ? recruiters.get(id).getName() : null),
+                location);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(PositionChangedEvent event) {
+        switch (event.type()) {
+            case DELETED -> remove(event.positionId());
+            case STATUS_CHANGED -> {
+                Integer ordinal = ordinals.get(event.positionId());
+                if (ordinal != null) {
+                    FacetDocument document = documents.get(ordinal);
+                    clear(byStatus, document.status(), ordinal);
+                    FacetDocument changed = document.withStatus(event.position().getStatus());
+                    set(byStatus, changed.status(), ordinal);
+                    documents.set(ordinal, changed);
+                }
+            }
+            default -> {
+                remove(event.positionId());
+                add(event.position());
+            }
+        }
+    }
+
+    private void add(Position position) {
+        Integer reused = freeOrdinals.poll();
+        int ordinal = reused != null ? reused : documents.size();
+        FacetDocument document = FacetDocument.of(position);
+        if (reused != null) {
+            documents.set(ordinal, document);
+        } else {
+            documents.add(document);
+        }
+        ordinals.put(position.getId(), ordinal);
+        live.set(ordinal);
+        set(byStatus, document.status(), ordinal);
+        set(byDepartment, document.departmentId(), ordinal);
+        set(byRecruiter, document.recruiterId(), ordinal);
+        set(byLocation, document.location(), ordinal);
+        set(byClosingDate, document.closingDate(), ordinal);
+    }
+
+    private void remove(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        FacetDocument document = documents.set(ordinal, null);
+        live.clear(ordinal);
+        clear(byStatus, document.status(), ordinal);
+        clear(byDepartment, document.departmentId(), ordinal);
+        clear(byRecruiter, document.recruiterId(), ordinal);
+        clear(byLocation, document.location(), ordinal);
+        clear(byClosingDate, document.closingDate(), ordinal);
+        freeOrdinals.push(ordinal);
+    }
+
+    private static <K> void set(Map<K, BitSet> bitmaps, K key, int ordinal) {
+        if (key != null) {
+            bitmaps.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private static <K> void clear(Map<K, BitSet> bitmaps, K key, int ordinal) {
+        BitSet bitmap = key != null ? bitmaps.get(key) : null;
+        if (bitmap != null) {
+            bitmap.clear(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    // null means the dimension is not filtered
+    private static <K> BitSet union(Map<K, BitSet> bitmaps, Collection<K> selected) {
+        if (selected.isEmpty()) {
+            return null;
+        }
+        BitSet union = new BitSet();
+        for (K key : selected) {
+            BitSet bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private BitSet closingBetween(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        BitSet union = new BitSet();
+        byClosingDate.subMap(from != null ? from : LocalDate.MIN, true, to != null ? to : LocalDate.MAX, true)
+                .values()
+                .forEach(union::or);
+        return union;
+    }
+
+    private BitSet intersect(BitSet... filters) {
+        BitSet result = (BitSet) live.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static <K> List<FacetCount> count(Map<K, BitSet> bitmaps, BitSet base, Function<K, String> valueOf,
+                                              BitSet scratch) {
+        List<FacetCount> counts = new ArrayList<>(bitmaps.size());
+        bitmaps.forEach((key, bitmap) -> {
+            scratch.clear();
+            scratch.or(bitmap);
+            scratch.and(base);
+            counts.add(new FacetCount(valueOf.apply(key), null, scratch.cardinality()));
+        });
+        return counts;
+    }
+
+    // Statuses keep their declaration order; other facets list the most frequent values first
+    private static List<FacetCount> mostFrequentFirst(List<FacetCount> counts) {
+        counts.sort(Comparator.comparingLong(FacetCount::count).reversed().thenComparing(FacetCount::value));
+        return counts;
+    }
+
+    private static List<Long> ids(List<FacetCount> counts) {
+        return counts.stream().map(count -> Long.valueOf(count.value())).toList();
+    }
+
+    private static List<FacetCount> withLabels(List<FacetCount> counts, Function<Long, String> labelOf) {
+        return counts.stream()
+                .map(count -> new FacetCount(count.value(), labelOf.apply(Long.valueOf(count.value())), count.count()))
+                .toList();
+    }
+}
@@ -0,0 +1,281 @@
+package com.assessment.position.search;
+
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.dto.PositionSearchHit;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.repository.PositionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over title, location and description. Lookups are served entirely from memory;
+ * the index is rebuilt from the database at startup and kept current from committed writes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PositionSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float LOCATION_BOOST = 2.0f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final PositionRepository positionRepository;
+
+    @Value("${application.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, IndexedPosition> documents = new HashMap<>();
+    private final Queue<PositionChangedEvent> pendingDuringRebuild = new ArrayDeque<>();
+    private boolean rebuilding;
+
+    private record IndexedPosition(Long id, String title, String location, PositionStatus status,
+                                   Long departmentId, String departmentName, Set<String> terms) {
+
+        IndexedPosition withStatus(PositionStatus newStatus) {
+            return new IndexedPosition(id, title, location, newStatus, departmentId, departmentName, terms);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        PositionCursor cursor = null;
+        List<Position> batch;
+        do {
+            batch = positionRepository.findPositionsAfter(PositionSortField.ID, Sort.Direction.ASC, cursor, rebuildBatchSize);
+            lock.writeLock().lock();
+            try {
+                batch.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                cursor = PositionCursor.after(batch.get(batch.size() - 1), PositionSortField.ID, Sort.Direction.ASC);
+            }
+        } while (batch.size() == rebuildBatchSize);
+
+        // Replay writes committed while the rebuild was reading so the index converges on the latest state
+        lock.writeLock().lock();
+        try {
+            PositionChangedEvent event;
+            while ((event = pendingDuringRebuild.poll()) != null) {
+                apply(event);
+            }
+            rebuilding = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Position search index rebuilt with {} documents and {} terms in {} ms",
+                size(), termCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPositionChanged(PositionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                pendingDuringRebuild.add(event);
+            } else {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Page<PositionSearchHit> search(String query, Pageable pageable) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                // The last term is treated as a prefix so partially typed words still match
+                Map<Long, Double> termScores = i == terms.size() - 1
+                        ? scorePrefix(terms.get(i))
+                        : scoreTerm(terms.get(i), postings.get(terms.get(i)));
+                scores = scores == null ? termScores : intersect(scores, termScores);
+                if (scores.isEmpty()) {
+                    return Page.empty(pageable);
+                }
+            }
+
+            List<PositionSearchHit> hits = scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .map(entry -> toHit(documents.get(entry.getKey()), entry.getValue()))
+                    .toList();
+            return new PageImpl<>(hits, pageable, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(PositionChangedEvent event) {
+        switch (event.type()) {
+            case DELETED -> remove(event.positionId());
+            // Status is not tokenized, so the postings stay as they are
+            case STATUS_CHANGED -> documents.computeIfPresent(event.positionId(),
+                    (id, document) -> document.withStatus(event.position().getStatus()));
+            default -> {
+                remove(event.positionId());
+                add(event.position());
+            }
+        }
+    }
+
+    private void add(Position position) {
+        Map<String, Float> weights = new HashMap<>();
+        accumulate(weights, position.getTitle(), TITLE_BOOST);
+        accumulate(weights, position.getLocation(), LOCATION_BOOST);
+        accumulate(weights, position.getDescription(), DESCRIPTION_BOOST);
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(position.getId(), weight));
+
+        var department = position.getDepartment();
+        documents.put(position.getId(), new IndexedPosition(position.getId(), position.getTitle(), position.getLocation(),
+                position.getStatus(), department != null ? department.getId() : null,
+                department != null ? department.getName() : null, weights.keySet()));
+    }
+
+    private void remove(Long id) {
+        IndexedPosition existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms()) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private Map<Long, Double> scorePrefix(String prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        NavigableMap<String, Map<Long, Float>> matches = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Float>> match : matches.entrySet()) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            scoreTerm(match.getKey(), match.getValue()).forEach((id, score) -> scores.merge(id, score, Math::max));
+        }
+        return scores;
+    }
+
+    private Map<Long, Double> scoreTerm(String term, Map<Long, Float> docs) {
+        if (docs == null) {
+            return Map.of();
+        }
+        double idf = Math.log(1.0 + (double) documents.size() / docs.size());
+        Map<Long, Double> scores = new HashMap<>(docs.size() * 2);
+        docs.forEach((id, weight) -> scores.put(id, weight * idf));
+        return scores;
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        Map<Long, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Double> larger = smaller == left ? right : left;
+        Map<Long, Double> result = new HashMap<>();
+        smaller.forEach((id, score) -> {
+            Double other = larger.get(id);
+            if (other != null) {
+                result.put(id, score + other);
+            }
+        });
+        return result;
+    }
+
+    private static void accumulate(Map<String, Float> weights, String text, float boost) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, boost, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private static PositionSearchHit toHit(IndexedPosition document, double score) {
+        return new PositionSearchHit(document.id(), document.title(), document.location(), document.status(),
+                document.departmentId(), document.departmentName(), score);
+    }
+}
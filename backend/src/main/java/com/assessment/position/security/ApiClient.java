@@ -0,0 +1,94 @@
+package com.assessment.position.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One configured API key: its SHA-256 digest, limits, usage counters and the shared
+ * {@link ApiKeyAuthentication} put in the security context for its requests.
+ */
+public final class ApiClient {
+
+    public enum Outcome {
+        ACCEPTED,
+        RATE_LIMITED,
+        CONCURRENCY_LIMITED
+    }
+
+    private final String name;
+    private final byte[] keyDigest;
+    private final TokenBucket bucket;
+    private final int maxConcurrent;
+    private final ApiKeyAuthentication authentication;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder concurrencyLimited = new LongAdder();
+
+    /**
+     * @param requestsPerSecond sustained rate, or 0 for no rate limit
+     * @param maxConcurrent     requests allowed in flight at once, or 0 for no limit
+     */
+    ApiClient(String name, byte[] keyDigest, double requestsPerSecond, int burst, int maxConcurrent) {
+        this.name = name;
+        this.keyDigest = keyDigest.clone();
+        this.bucket = requestsPerSecond > 0 ? new TokenBucket(requestsPerSecond, burst) : null;
+        this.maxConcurrent = maxConcurrent;
+        this.authentication = new ApiKeyAuthentication(name);
+    }
+
+    /** The outcome of {@link #tryAcquire()} and, for a rejection, the seconds to wait before retrying. */
+    record Admission(Outcome outcome, long retryAfterSeconds) {
+        static final Admission ACCEPTED = new Admission(Outcome.ACCEPTED, 0);
+    }
+
+    /**
+     * Admits a request or says why not. An accepted request must be ended with {@link #release()}.
+     * The concurrency quota is checked first, so a request it rejects does not spend a rate token.
+     */
+    Admission tryAcquire() {
+        if (inFlight.incrementAndGet() > maxConcurrent && maxConcurrent > 0) {
+            inFlight.decrementAndGet();
+            concurrencyLimited.increment();
+            // No way to know when a request in flight will finish
+            return new Admission(Outcome.CONCURRENCY_LIMITED, 1);
+        }
+        long waitNanos = bucket != null ? bucket.tryAcquire(System.nanoTime()) : 0;
+        if (waitNanos > 0) {
+            inFlight.decrementAndGet();
+            rateLimited.increment();
+            return new Admission(Outcome.RATE_LIMITED, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+        }
+        accepted.increment();
+        return Admission.ACCEPTED;
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    byte[] keyDigest() {
+        return keyDigest;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ApiKeyAuthentication getAuthentication() {
+        return authentication;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getCount(Outcome outcome) {
+        return switch (outcome) {
+            case ACCEPTED -> accepted.sum();
+            case RATE_LIMITED -> rateLimited.sum();
+            case CONCURRENCY_LIMITED -> concurrencyLimited.sum();
+        };
+    }
+}
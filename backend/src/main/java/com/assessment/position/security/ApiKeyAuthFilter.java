@@ -4,25 +4,37 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Authenticates requests by X-API-KEY and applies the key's rate and concurrency limits. Requests
+ * over a limit get a 429 here, before any controller or database work.
+ */
 public class ApiKeyAuthFilter extends OncePerRequestFilter {
     private static final String API_KEY_HEADER = "X-API-KEY";
-    private final String apiKey;
+    private static final byte[] TOO_MANY_REQUESTS_BODY = "{\"error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+    private final ApiKeyRegistry apiKeys;
     private RequestMatcher excludedUrls;
 
+    public ApiKeyAuthFilter(ApiKeyRegistry apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    /** A single unlimited key. */
     public ApiKeyAuthFilter(String apiKey) {
-        this.apiKey = apiKey;
+        this(ApiKeyRegistry.parse(apiKey, null, ApiKeyRegistry.Limits.NONE));
     }
 
     public void setExcludeUrls(String... urls) {
@@ -41,15 +53,26 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
-        String requestApiKey = request.getHeader(API_KEY_HEADER);
-
-        if (apiKey.equals(requestApiKey)) {
-            Authentication authentication = new ApiKeyAuthentication(apiKey);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            filterChain.doFilter(request, response);
-        } else {
+        ApiClient client = apiKeys.find(request.getHeader(API_KEY_HEADER));
+        if (client == null) {
             response.setStatus(HttpStatus.UNAUTHORIZED.value());
             response.getWriter().write("Invalid API Key");
+            return;
+        }
+
+        ApiClient.Admission admission = client.tryAcquire();
+        if (admission.outcome() != ApiClient.Outcome.ACCEPTED) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(admission.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+            return;
+        }
+        try {
+            SecurityContextHolder.getContext().setAuthentication(client.getAuthentication());
+            filterChain.doFilter(request, response);
+        } finally {
+            client.release();
         }
     }
 } 
\ No newline at end of file
@@ -4,12 +4,16 @@ import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import java.util.Collections;
 
+/**
+ * Authenticated API client. Instances are created once per configured key and shared by all of
+ * its requests; the principal is the key's name, never the key itself.
+ */
 public class ApiKeyAuthentication extends AbstractAuthenticationToken {
-    private final String apiKey;
+    private final String clientName;
 
-    public ApiKeyAuthentication(String apiKey) {
+    public ApiKeyAuthentication(String clientName) {
         super(Collections.singletonList(new SimpleGrantedAuthority("ROLE_API")));
-        this.apiKey = apiKey;
+        this.clientName = clientName;
         setAuthenticated(true);
     }
 
@@ -20,6 +24,6 @@ public class ApiKeyAuthentication extends AbstractAuthenticationToken {
 
     @Override
     public Object getPrincipal() {
-        return "API";
+        return clientName;
     }
-} 
\ No newline at end of file
+} 
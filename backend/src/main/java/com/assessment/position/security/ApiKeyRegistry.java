@@ -0,0 +1,128 @@
+package com.assessment.position.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The configured API keys, held only as SHA-256 digests. Also publishes per-key request and
+ * in-flight metrics.
+ */
+public class ApiKeyRegistry implements MeterBinder {
+    public static final String REQUESTS_METRIC = "api.key.requests";
+    public static final String IN_FLIGHT_METRIC = "api.key.in.flight";
+
+    private final List<ApiClient> clients;
+
+    /** Defaults for named keys that do not set their own limits; 0 disables a limit. */
+    public record Limits(double requestsPerSecond, int burst, int maxConcurrent) {
+        public static final Limits NONE = new Limits(0, 1, 0);
+    }
+
+    public ApiKeyRegistry(List<ApiClient> clients) {
+        if (clients.isEmpty()) {
+            throw new IllegalStateException("No API keys configured; set API_KEY or API_KEYS");
+        }
+        this.clients = List.copyOf(clients);
+    }
+
+    /**
+     * Builds the registry from configuration.
+     *
+     * @param plainKey legacy single key, registered as client {@code default} without limits; ignored
+     *                 when blank. The frontend ships it to every browser, so a per-key quota on it
+     *                 would be shared by all users at once
+     * @param entries  comma-separated {@code name:sha256hex[:requestsPerSecond[:burst[:maxConcurrent]]]}
+     */
+    public static ApiKeyRegistry parse(String plainKey, String entries, Limits defaults) {
+        List<ApiClient> clients = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        if (plainKey != null && !plainKey.isBlank()) {
+            clients.add(client("default", digest(plainKey), Limits.NONE));
+            names.add("default");
+        }
+        if (entries != null) {
+            for (String entry : entries.split(",")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                String[] parts = entry.trim().split(":");
+                if (parts.length < 2 || parts.length > 5 || !names.add(parts[0])) {
+                    throw new IllegalArgumentException("Invalid or duplicate API key entry for '" + parts[0] + "'");
+                }
+                byte[] keyDigest = HexFormat.of().parseHex(parts[1].toLowerCase(Locale.ROOT));
+                if (keyDigest.length != 32) {
+                    throw new IllegalArgumentException("API key '" + parts[0] + "' must be a SHA-256 hex digest");
+                }
+                Limits limits = new Limits(
+                        parts.length > 2 ? Double.parseDouble(parts[2]) : defaults.requestsPerSecond(),
+                        parts.length > 3 ? Integer.parseInt(parts[3]) : defaults.burst(),
+                        parts.length > 4 ? Integer.parseInt(parts[4]) : defaults.maxConcurrent());
+                clients.add(client(parts[0], keyDigest, limits));
+            }
+        }
+        return new ApiKeyRegistry(clients);
+    }
+
+    /**
+     * Finds the client for a presented key. Every configured digest is compared in constant time
+     * and the loop never exits early, so timing does not reveal which key, if any, matched.
+     */
+    public ApiClient find(String presentedKey) {
+        if (presentedKey == null) {
+            return null;
+        }
+        byte[] presented = digest(presentedKey);
+        ApiClient match = null;
+        for (ApiClient client : clients) {
+            if (MessageDigest.isEqual(client.keyDigest(), presented)) {
+                match = client;
+            }
+        }
+        return match;
+    }
+
+    public List<ApiClient> getClients() {
+        return clients;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ApiClient client : clients) {
+            for (ApiClient.Outcome outcome : ApiClient.Outcome.values()) {
+                FunctionCounter.builder(REQUESTS_METRIC, client, c -> c.getCount(outcome))
+                        .description("Requests per API key by admission outcome")
+                        .tag("key", client.getName())
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            Gauge.builder(IN_FLIGHT_METRIC, client, ApiClient::getInFlight)
+                    .description("Requests currently in flight per API key")
+                    .tag("key", client.getName())
+                    .register(registry);
+        }
+    }
+
+    private static ApiClient client(String name, byte[] keyDigest, Limits limits) {
+        return new ApiClient(name, keyDigest, limits.requestsPerSecond(), limits.burst(), limits.maxConcurrent());
+    }
+
+    static byte[] digest(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
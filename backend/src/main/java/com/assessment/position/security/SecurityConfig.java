@@ -15,17 +15,36 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 @EnableWebSecurity
 public class SecurityConfig {
 
-    @Value("${application.security.api-key}")
+    @Value("${application.security.api-key:}")
     private String apiKey;
 
+    @Value("${application.security.api-keys:}")
+    private String apiKeys;
+
+    @Value("${application.security.rate-limit.requests-per-second:50}")
+    private double requestsPerSecond;
+
+    @Value("${application.security.rate-limit.burst:100}")
+    private int burst;
+
+    @Value("${application.security.rate-limit.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Bean
+    public ApiKeyRegistry apiKeyRegistry() {
+        return ApiKeyRegistry.parse(apiKey, apiKeys, new ApiKeyRegistry.Limits(requestsPerSecond, burst, maxConcurrent));
+    }
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        ApiKeyAuthFilter apiKeyFilter = new ApiKeyAuthFilter(apiKey);
+    public SecurityFilterChain filterChain(HttpSecurity http, ApiKeyRegistry apiKeyRegistry) throws Exception {
+        ApiKeyAuthFilter apiKeyFilter = new ApiKeyAuthFilter(apiKeyRegistry);
         apiKeyFilter.setExcludeUrls(
             "/swagger-ui.html",
             "/swagger-ui/**",
             "/v3/api-docs/**",
-            "/h2-console/**"
+            "/h2-console/**",
+            "/actuator/health/**",
+            "/actuator/prometheus"
         );
 
         http
@@ -37,7 +56,9 @@ public class SecurityConfig {
                     "/swagger-ui.html",
                     "/swagger-ui/**", 
                     "/v3/api-docs/**",
-                    "/h2-console/**"
+                    "/h2-console/**",
+                    "/actuator/health/**",
+                    "/actuator/prometheus"
                 ).permitAll()
                 .anyRequest().authenticated()
             );
@@ -0,0 +1,319 @@
+package com.assessment.position.service;
+
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.PositionVersion;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-row writes for positions. Every item is validated on its own and reported individually;
+ * valid items are written in one transaction, flushed every JDBC batch so Hibernate groups the
+ * statements and the persistence context stays small.
+ */
+@Service
+@RequiredArgsConstructor
+public class PositionBulkService {
+    // Keeps IN lists within what every supported database plans well
+    private static final int MAX_IN_LIST = 1000;
+
+    private final PositionRepository positionRepository;
+    private final ReferenceDataService referenceDataService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    @Value("${application.bulk.max-items:10000}")
+    private int maxItems = 10000;
+
+    @Transactional
+    public BulkResponse createPositions(List<Position> positions) {
+        checkSize(positions);
+        List<BulkItemResult> results = new ArrayList<>();
+        Map<Integer, Position> valid = resolveAndValidate(positions, results);
+
+        int pending = 0;
+        List<Position> created = new ArrayList<>();
+        for (Map.Entry<Integer, Position> item : valid.entrySet()) {
+            Position position = item.getValue();
+            position.setId(null);
+            entityManager.persist(position);
+            created.add(position);
+            results.add(BulkItemResult.success(item.getKey(), position.getId(), BulkItemResult.Status.CREATED));
+            if (++pending == batchSize) {
+                flushAndClear();
+                pending = 0;
+            }
+        }
+        flushAndClear();
+        created.forEach(position -> eventPublisher.publishEvent(PositionChangedEvent.created(position)));
+        return BulkResponse.of(results);
+    }
+
+    @Transactional
+    public BulkResponse updatePositions(List<Position> positions) {
+        checkSize(positions);
+        List<BulkItemResult> results = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        Map<Integer, Position> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < positions.size(); i++) {
+            Position position = positions.get(i);
+            if (position == null || position.getId() == null) {
+                results.add(BulkItemResult.failure(i, null, Map.of("id", "must not be null")));
+            } else if (!seen.add(position.getId())) {
+                results.add(BulkItemResult.failure(i, position.getId(), Map.of("id", "duplicate id in request")));
+            } else {
+                candidates.put(i, position);
+            }
+        }
+        Map<Integer, Position> valid = resolveAndValidate(candidates, results);
+
+        List<Map.Entry<Integer, Position>> items = new ArrayList<>(valid.entrySet());
+        List<Position> updated = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<Map.Entry<Integer, Position>> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            // Load the whole chunk with one IN query so the copies below become batched UPDATEs
+            Map<Long, Position> managed = positionRepository.findAllById(chunk.stream().map(e -> e.getValue().getId()).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Position::getId, Function.identity()));
+            for (Map.Entry<Integer, Position> item : chunk) {
+                Position source = item.getValue();
+                Position target = managed.get(source.getId());
+                if (target == null) {
+                    results.add(BulkItemResult.failure(item.getKey(), source.getId(),
+                            Map.of("error", "Position not found with id: " + source.getId())));
+                    continue;
+                }
+                copyState(source, target);
+                updated.add(target);
+                results.add(BulkItemResult.success(item.getKey(), target.getId(), BulkItemResult.Status.UPDATED));
+            }
+            flushAndClear();
+        }
+        updated.forEach(position -> eventPublisher.publishEvent(PositionChangedEvent.updated(position)));
+        return BulkResponse.of(results);
+    }
+
+    @Transactional
+    public BulkResponse deletePositions(List<Long> ids) {
+        checkSize(ids);
+        List<BulkItemResult> results = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        Map<Integer, Long> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BulkItemResult.failure(i, null, Map.of("id", "must not be null")));
+            } else if (!seen.add(id)) {
+                results.add(BulkItemResult.failure(i, id, Map.of("id", "duplicate id in request")));
+            } else {
+                candidates.put(i, id);
+            }
+        }
+
+        List<Map.Entry<Integer, Long>> items = new ArrayList<>(candidates.entrySet());
+        List<Long> deleted = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<Map.Entry<Integer, Long>> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            Set<Long> existing = new HashSet<>(positionRepository.findExistingIds(chunk.stream().map(Map.Entry::getValue).toList()));
+            for (Map.Entry<Integer, Long> item : chunk) {
+                if (existing.contains(item.getValue())) {
+                    results.add(BulkItemResult.success(item.getKey(), item.getValue(), BulkItemResult.Status.DELETED));
+                } else {
+                    results.add(BulkItemResult.failure(item.getKey(), item.getValue(),
+                            Map.of("error", "Position not found with id: " + item.getValue())));
+                }
+            }
+            if (!existing.isEmpty()) {
+                positionRepository.deleteAllByIdInBatch(existing);
+                deleted.addAll(existing);
+            }
+        }
+        deleted.forEach(id -> eventPublisher.publishEvent(PositionChangedEvent.deleted(id)));
+        return BulkResponse.of(results);
+    }
+
+    /**
+     * Moves positions to {@code to} with one locking SELECT and one UPDATE per {@value #MAX_IN_LIST} ids.
+     * Only the status and version columns are written and no entities are loaded.
+     */
+    @Transactional
+    public BulkResponse transitionStatus(List<Long> ids, Set<PositionStatus> from, PositionStatus to) {
+        checkSize(ids);
+        Set<PositionStatus> sources = from == null || from.isEmpty() ? EnumSet.complementOf(EnumSet.of(to)) : from;
+        List<BulkItemResult> results = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        Map<Integer, Long> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BulkItemResult.failure(i, null, Map.of("id", "must not be null")));
+            } else if (!seen.add(id)) {
+                results.add(BulkItemResult.failure(i, id, Map.of("id", "duplicate id in request")));
+            } else {
+                candidates.put(i, id);
+            }
+        }
+
+        List<Map.Entry<Integer, Long>> items = new ArrayList<>(candidates.entrySet());
+        List<PositionVersion> transitioned = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += MAX_IN_LIST) {
+            List<Map.Entry<Integer, Long>> chunk = items.subList(start, Math.min(start + MAX_IN_LIST, items.size()));
+            List<PositionVersion> locked = positionRepository.lockVersionsInStatus(chunk.stream().map(Map.Entry::getValue).toList(), sources);
+            Set<Long> matching = locked.stream().map(PositionVersion::id).collect(Collectors.toSet());
+            if (!matching.isEmpty()) {
+                positionRepository.updateStatus(matching, to);
+                transitioned.addAll(locked);
+            }
+            for (Map.Entry<Integer, Long> item : chunk) {
+                if (matching.contains(item.getValue())) {
+                    results.add(BulkItemResult.success(item.getKey(), item.getValue(), BulkItemResult.Status.UPDATED));
+                } else {
+                    results.add(BulkItemResult.failure(item.getKey(), item.getValue(),
+                            Map.of("error", "Position not found or not in status " + sources)));
+                }
+            }
+        }
+        publishStatusChanged(transitioned, to);
+        return BulkResponse.of(results);
+    }
+
+    /**
+     * Moves up to {@code limit} positions in status {@code from} whose closing date is before
+     * {@code closingBefore} to {@code to}, taking ids above {@code afterId} in ascending order.
+     * Returns the ids moved, so the caller can continue after the last one.
+     */
+    @Transactional
+    public List<Long> transitionClosingBefore(PositionStatus from, PositionStatus to, LocalDate closingBefore,
+                                              long afterId, int limit) {
+        List<PositionVersion> locked = positionRepository.lockVersionsClosingBefore(from, closingBefore, afterId, Limit.of(limit));
+        List<Long> ids = locked.stream().map(PositionVersion::id).toList();
+        if (!ids.isEmpty()) {
+            positionRepository.updateStatus(ids, to);
+            publishStatusChanged(locked, to);
+        }
+        return ids;
+    }
+
+    // The rows are locked, so the UPDATE wrote exactly one version above the one read
+    private void publishStatusChanged(List<PositionVersion> transitioned, PositionStatus to) {
+        transitioned.forEach(locked -> eventPublisher.publishEvent(
+                PositionChangedEvent.statusChanged(locked.id(), to, locked.version() + 1)));
+    }
+
+    private Map<Integer, Position> resolveAndValidate(List<Position> positions, List<BulkItemResult> results) {
+        Map<Integer, Position> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < positions.size(); i++) {
+            if (positions.get(i) == null) {
+                results.add(BulkItemResult.failure(i, null, Map.of("error", "must not be null")));
+            } else {
+                candidates.put(i, positions.get(i));
+            }
+        }
+        return resolveAndValidate(candidates, results);
+    }
+
+    private Map<Integer, Position> resolveAndValidate(Map<Integer, Position> candidates, List<BulkItemResult> results) {
+        // One IN query per reference type for the whole request
+        Map<Long, Recruiter> recruiters = referenceDataService.findRecruiters(referencedIds(candidates.values(), Position::getRecruiter, Recruiter::getId));
+        Map<Long, Department> departments = referenceDataService.findDepartments(referencedIds(candidates.values(), Position::getDepartment, Department::getId));
+
+        Map<Integer, Position> valid = new LinkedHashMap<>();
+        candidates.forEach((index, position) -> {
+            Map<String, String> errors = new HashMap<>();
+            for (ConstraintViolation<Position> violation : validator.validate(position)) {
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            if (position.getRecruiter() != null) {
+                Recruiter recruiter = recruiters.get(position.getRecruiter().getId());
+                if (recruiter == null) {
+                    errors.put("recruiter", "Recruiter not found with id: " + position.getRecruiter().getId());
+                }
+                position.setRecruiter(recruiter);
+            }
+            if (position.getDepartment() != null) {
+                Department department = departments.get(position.getDepartment().getId());
+                if (department == null) {
+                    errors.put("department", "Department not found with id: " + position.getDepartment().getId());
+                }
+                position.setDepartment(department);
+            }
+
+            if (errors.isEmpty()) {
+                valid.put(index, position);
+            } else {
+                results.add(BulkItemResult.failure(index, position.getId(), errors));
+            }
+        });
+        return valid;
+    }
+
+    private static <T> Set<Long> referencedIds(Collection<Position> positions, Function<Position, T> reference,
+                                               Function<T, Long> idOf) {
+        return positions.stream()
+                .map(reference)
+                .filter(Objects::nonNull)
+                .map(idOf)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static void copyState(Position source, Position target) {
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        target.setLocation(source.getLocation());
+        target.setStatus(source.getStatus());
+        target.setRecruiter(source.getRecruiter());
+        target.setDepartment(source.getDepartment());
+        target.setBudget(source.getBudget());
+        target.setClosingDate(source.getClosingDate());
+    }
+
+    /** Rejects an empty request or one over {@code application.bulk.max-items}. */
+    public void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items are allowed per request");
+        }
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
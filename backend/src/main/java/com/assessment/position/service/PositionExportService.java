@@ -0,0 +1,70 @@
+package com.assessment.position.service;
+
+import com.assessment.position.dto.PositionDataFormat;
+import com.assessment.position.dto.PositionCsvRow;
+import com.assessment.position.model.Position;
+import com.assessment.position.repository.PositionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class PositionExportService {
+    private final PositionRepository positionRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    @Transactional(readOnly = true)
+    public long export(PositionDataFormat format, OutputStream out) throws IOException {
+        try (Stream<Position> positions = positionRepository.streamAllWithDetails(fetchSize)) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(positions.iterator(), out);
+                case CSV -> writeCsv(positions.iterator(), out);
+            };
+        }
+    }
+
+    private long writeNdjson(Iterator<Position> positions, OutputStream out) throws IOException {
+        // Let the generator and servlet buffers decide when to flush instead of flushing every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (positions.hasNext()) {
+                writer.writeValue(generator, positions.next());
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Position> positions, OutputStream out) throws IOException {
+        long rows = 0;
+        try (SequenceWriter writer = PositionCsvRow.CSV_MAPPER.writer(PositionCsvRow.CSV_SCHEMA)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(out)) {
+            while (positions.hasNext()) {
+                writer.write(PositionCsvRow.from(positions.next()));
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
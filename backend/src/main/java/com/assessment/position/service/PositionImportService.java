@@ -0,0 +1,143 @@
+package com.assessment.position.service;
+
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.ImportRowError;
+import com.assessment.position.dto.ImportSummary;
+import com.assessment.position.dto.PositionCsvRow;
+import com.assessment.position.dto.PositionDataFormat;
+import com.assessment.position.model.Position;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental position import. Rows are pulled from the request body one at a time and written in
+ * chunks, each through {@link PositionBulkService} in its own short transaction. Only one chunk is
+ * held in memory, and the next one is not read until the previous one is committed, so a fast client
+ * is throttled by TCP flow control rather than buffered. Failed rows are streamed back as NDJSON.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PositionImportService {
+    private final PositionBulkService positionBulkService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    public ImportSummary importPositions(PositionDataFormat format, InputStream in, OutputStream report) throws IOException {
+        ObjectWriter reportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+        long imported = 0;
+        long failed = 0;
+
+        try (MappingIterator<?> positions = open(format, in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(report)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            List<Position> chunk = new ArrayList<>(chunkSize);
+            List<Long> chunkRows = new ArrayList<>(chunkSize);
+            boolean more = true;
+            while (more) {
+                Position position = null;
+                try {
+                    more = positions.hasNextValue();
+                    if (more) {
+                        rows++;
+                        Object value = positions.nextValue();
+                        position = value instanceof PositionCsvRow row ? row.toPosition() : (Position) value;
+                    }
+                } catch (JsonParseException ex) {
+                    // Malformed input leaves the parser without a reliable row boundary, so stop here
+                    failed++;
+                    writeLine(generator, reportWriter, new ImportRowError(rows, Map.of("error", "Malformed input: " + ex.getOriginalMessage())));
+                    more = false;
+                } catch (JsonProcessingException | RuntimeJsonMappingException ex) {
+                    failed++;
+                    writeLine(generator, reportWriter, new ImportRowError(rows, Map.of("error", "Unreadable row: " + rootMessage(ex))));
+                }
+
+                if (position != null) {
+                    chunk.add(position);
+                    chunkRows.add(rows);
+                }
+                if (chunk.size() == chunkSize || (!more && !chunk.isEmpty())) {
+                    long written = writeChunk(chunk, chunkRows, generator, reportWriter);
+                    imported += written;
+                    failed += chunk.size() - written;
+                    chunk.clear();
+                    chunkRows.clear();
+                    generator.flush();
+                }
+            }
+
+            ImportSummary summary = new ImportSummary(rows, imported, failed);
+            writeLine(generator, reportWriter, Map.of("summary", summary));
+            log.info("Imported {} of {} positions ({} failed)", imported, rows, failed);
+            return summary;
+        }
+    }
+
+    private long writeChunk(List<Position> chunk, List<Long> chunkRows, JsonGenerator generator, ObjectWriter reportWriter)
+            throws IOException {
+        BulkResponse response;
+        try {
+            response = positionBulkService.createPositions(chunk);
+        } catch (DataAccessException ex) {
+            // Thrown before anything is written; rows of a shard that rolls back are reported in the response
+            log.warn("Import chunk of {} rows failed", chunk.size(), ex);
+            for (Long row : chunkRows) {
+                writeLine(generator, reportWriter, new ImportRowError(row, Map.of("error", "Chunk not written: " + rootMessage(ex))));
+            }
+            return 0;
+        }
+        for (BulkItemResult result : response.results()) {
+            if (!result.succeeded()) {
+                writeLine(generator, reportWriter, new ImportRowError(chunkRows.get(result.index()), result.errors()));
+            }
+        }
+        return response.succeeded();
+    }
+
+    private MappingIterator<?> open(PositionDataFormat format, InputStream in) throws IOException {
+        return switch (format) {
+            case NDJSON -> objectMapper.readerFor(Position.class).readValues(in);
+            case CSV -> PositionCsvRow.CSV_MAPPER.readerFor(PositionCsvRow.class)
+                    .with(PositionCsvRow.CSV_SCHEMA)
+                    .readValues(in);
+        };
+    }
+
+    private static void writeLine(JsonGenerator generator, ObjectWriter writer, Object value) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root instanceof JsonProcessingException jsonEx ? jsonEx.getOriginalMessage() : root.getMessage();
+    }
+}
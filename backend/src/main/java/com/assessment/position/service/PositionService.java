@@ -1,29 +1,133 @@
 package com.assessment.position.service;
 
+import com.assessment.position.analytics.PositionAggregates;
+import com.assessment.position.cache.PositionListEtag;
+import com.assessment.position.dto.CursorPage;
+import com.assessment.position.dto.FacetedPage;
+import com.assessment.position.dto.PositionAnalytics;
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.dto.PositionSearchHit;
+import com.assessment.position.dto.PositionSummary;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.exception.VersionConflictException;
 import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionField;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
 import com.assessment.position.repository.PositionRepository;
-import com.assessment.position.repository.RecruiterRepository;
-import com.assessment.position.repository.DepartmentRepository;
+import com.assessment.position.repository.PositionSpecifications;
+import com.assessment.position.search.PositionFacetIndex;
+import com.assessment.position.search.PositionSearchIndex;
+import com.assessment.position.snapshot.PositionSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class PositionService {
+    private static final Map<String, Class<?>> PATCHABLE_ATTRIBUTES = Map.of(
+            "title", String.class,
+            "description", String.class,
+            "location", String.class,
+            "status", PositionStatus.class,
+            "budget", BigDecimal.class,
+            "closingDate", LocalDate.class);
+
     private final PositionRepository positionRepository;
-    private final RecruiterRepository recruiterRepository;
-    private final DepartmentRepository departmentRepository;
+    private final ReferenceDataService referenceDataService;
+    private final PositionSearchIndex positionSearchIndex;
+    private final PositionAggregates positionAggregates;
+    private final PositionFacetIndex positionFacetIndex;
+    private final PositionSnapshot positionSnapshot;
+    private final PositionListEtag positionListEtag;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
 
+    @Transactional(readOnly = true)
     public Page<Position> getAllPositions(Pageable pageable) {
         return positionRepository.findAllPositionsWithDetails(pageable);
     }
 
+    /**
+     * Filtered page plus facet counts from the in-memory bitmap index. The page comes from the
+     * columnar snapshot when it is enabled and built, otherwise from the database; the repository
+     * calls run in their own read-only transactions, so a snapshot hit never takes a connection.
+     */
+    public FacetedPage<Position> getPositions(PositionFilter filter, Pageable pageable) {
+        Page<Position> page = positionSnapshot.page(filter, pageable).orElseGet(() -> filter.isEmpty()
+                ? positionRepository.findAllPositionsWithDetails(pageable)
+                : positionRepository.findAll(
+                        PositionSpecifications.matching(filter).and(PositionSpecifications.withDetails()), pageable));
+        return new FacetedPage<>(page, positionFacetIndex.facets(filter));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PositionSummary> getPositionSummaries(Pageable pageable) {
+        return positionRepository.findAllSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getPositionFields(List<PositionField> fields, Pageable pageable) {
+        return positionRepository.findFields(fields, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Position> getPositionsAfter(PositionSortField sortField, Sort.Direction direction,
+                                                  PositionCursor after, int limit) {
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Position> rows = positionRepository.findPositionsAfter(sortField, direction, after, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<Position> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext
+                ? PositionCursor.after(content.get(content.size() - 1), sortField, direction).encode()
+                : null;
+        return new CursorPage<>(content, limit, hasNext, nextCursor);
+    }
+
+    public Page<PositionSearchHit> searchPositions(String query, Pageable pageable) {
+        return positionSearchIndex.search(query, pageable);
+    }
+
+    public PositionAnalytics getAnalytics() {
+        return positionAggregates.snapshot();
+    }
+
+    @Transactional(readOnly = true)
+    public Long getPositionVersion(Long id) {
+        return positionRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Position not found with id: " + id));
+    }
+
+    /** The snapshot's tag while it serves the pages, otherwise the persisted list version; empty when lists must not be cached. */
+    public Optional<String> getListEtag() {
+        return positionSnapshot.listEtag().or(positionListEtag::current);
+    }
+
+    @Transactional(readOnly = true)
     public Position getPosition(Long id) {
         return positionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Position not found with id: " + id));
@@ -32,36 +136,88 @@ public class PositionService {
     @Transactional
     public Position createPosition(Position position) {
         // Fetch and set the recruiter
-        var recruiter = recruiterRepository.findById(position.getRecruiter().getId())
+        var recruiter = referenceDataService.findRecruiter(position.getRecruiter().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Recruiter not found with id: " + position.getRecruiter().getId()));
         position.setRecruiter(recruiter);
 
         // Fetch and set the department
-        var department = departmentRepository.findById(position.getDepartment().getId())
+        var department = referenceDataService.findDepartment(position.getDepartment().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + position.getDepartment().getId()));
         position.setDepartment(department);
 
-        return positionRepository.save(position);
+        Position saved = positionRepository.save(position);
+        eventPublisher.publishEvent(PositionChangedEvent.created(saved));
+        return saved;
     }
 
     @Transactional
     public Position updatePosition(Long id, Position position) {
-        if (!positionRepository.existsById(id)) {
-            throw new EntityNotFoundException("Position not found with id: " + id);
-        }
+        return updatePosition(id, position, null);
+    }
 
+    /**
+     * Applies the update as one UPDATE statement. When {@code expectedVersion} is given the row is only
+     * changed if it still has that version; otherwise a {@link VersionConflictException} is thrown.
+     */
+    @Transactional
+    public Position updatePosition(Long id, Position position, Long expectedVersion) {
         // Fetch and set the recruiter
-        var recruiter = recruiterRepository.findById(position.getRecruiter().getId())
+        var recruiter = referenceDataService.findRecruiter(position.getRecruiter().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Recruiter not found with id: " + position.getRecruiter().getId()));
         position.setRecruiter(recruiter);
 
         // Fetch and set the department
-        var department = departmentRepository.findById(position.getDepartment().getId())
+        var department = referenceDataService.findDepartment(position.getDepartment().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + position.getDepartment().getId()));
         position.setDepartment(department);
 
+        if (positionRepository.updateState(id, position, expectedVersion) == 0) {
+            Long current = getPositionVersion(id);
+            throw new VersionConflictException("Position " + id + " has version " + current + ", expected " + expectedVersion);
+        }
+
         position.setId(id);
-        return positionRepository.save(position);
+        position.setVersion(expectedVersion != null ? expectedVersion + 1 : getPositionVersion(id));
+        eventPublisher.publishEvent(PositionChangedEvent.updated(position));
+        return position;
+    }
+
+    /**
+     * Applies a JSON Merge Patch as one UPDATE of only the attributes present in the patch.
+     * Recruiter and department are resolved only when the patch changes them.
+     */
+    @Transactional
+    public Position patchPosition(Long id, ObjectNode patch, Long expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Set<ConstraintViolation<Position>> violations = new HashSet<>();
+        patch.fields().forEachRemaining(entry -> {
+            String attribute = entry.getKey();
+            JsonNode node = entry.getValue();
+            Object value = switch (attribute) {
+                case "recruiter" -> node.isNull() ? null : referenceDataService.findRecruiter(referenceId(attribute, node))
+                        .orElseThrow(() -> new EntityNotFoundException("Recruiter not found with id: " + node.get("id")));
+                case "department" -> node.isNull() ? null : referenceDataService.findDepartment(referenceId(attribute, node))
+                        .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + node.get("id")));
+                default -> convert(attribute, node);
+            };
+            violations.addAll(validator.validateValue(Position.class, attribute, value));
+            changes.put(attribute, value);
+        });
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Patch must contain at least one field");
+        }
+
+        if (positionRepository.patchState(id, changes, expectedVersion) == 0) {
+            Long current = getPositionVersion(id);
+            throw new VersionConflictException("Position " + id + " has version " + current + ", expected " + expectedVersion);
+        }
+
+        Position patched = getPosition(id);
+        eventPublisher.publishEvent(PositionChangedEvent.updated(patched));
+        return patched;
     }
 
     @Transactional
@@ -70,5 +226,26 @@ public class PositionService {
             throw new EntityNotFoundException("Position not found with id: " + id);
         }
         positionRepository.deleteById(id);
+        eventPublisher.publishEvent(PositionChangedEvent.deleted(id));
+    }
+
+    private Object convert(String attribute, JsonNode node) {
+        Class<?> type = PATCHABLE_ATTRIBUTES.get(attribute);
+        if (type == null) {
+            throw new IllegalArgumentException("Field cannot be patched: " + attribute);
+        }
+        try {
+            return objectMapper.treeToValue(node, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid value for " + attribute, ex);
+        }
+    }
+
+    private static Long referenceId(String attribute, JsonNode node) {
+        JsonNode id = node.get("id");
+        if (id == null || !id.canConvertToLong()) {
+            throw new IllegalArgumentException(attribute + ".id is required");
+        }
+        return id.asLong();
     }
-} 
\ No newline at end of file
+}
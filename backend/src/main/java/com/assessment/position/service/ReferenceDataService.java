@@ -0,0 +1,112 @@
+package com.assessment.position.service;
+
+import com.assessment.position.config.CacheConfig;
+import com.assessment.position.dto.CacheStats;
+import com.assessment.position.dto.ReferenceList;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.DepartmentRepository;
+import com.assessment.position.repository.RecruiterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for recruiters and departments. Entries expire after a TTL so edits made
+ * directly in the database become visible; the evict methods drop them immediately.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataService {
+    private final RecruiterRepository recruiterRepository;
+    private final DepartmentRepository departmentRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CacheConfig.RECRUITERS, unless = "#result == null")
+    public Optional<Recruiter> findRecruiter(Long id) {
+        return recruiterRepository.findById(id);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.RECRUITER_LIST, key = "'all'")
+    public ReferenceList<Recruiter> getAllRecruiters() {
+        return ReferenceList.of(recruiterRepository.findAll());
+    }
+
+    public Map<Long, Recruiter> findRecruiters(Collection<Long> ids) {
+        return findAll(CacheConfig.RECRUITERS, ids, recruiterRepository::findAllById, Recruiter::getId);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS, unless = "#result == null")
+    public Optional<Department> findDepartment(Long id) {
+        return departmentRepository.findById(id);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENT_LIST, key = "'all'")
+    public ReferenceList<Department> getAllDepartments() {
+        return ReferenceList.of(departmentRepository.findAll());
+    }
+
+    public Map<Long, Department> findDepartments(Collection<Long> ids) {
+        return findAll(CacheConfig.DEPARTMENTS, ids, departmentRepository::findAllById, Department::getId);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.RECRUITERS, CacheConfig.RECRUITER_LIST}, allEntries = true)
+    public void evictRecruiters() {
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS, CacheConfig.DEPARTMENT_LIST}, allEntries = true)
+    public void evictDepartments() {
+    }
+
+    // Serves what the cache already holds and loads the rest with a single IN query
+    private <T> Map<Long, T> findAll(String cacheName, Collection<Long> ids,
+                                     Function<Iterable<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        Map<Long, T> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Cache.ValueWrapper cached = cache.get(id);
+            if (cached != null && cached.get() != null) {
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.get();
+                found.put(id, value);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (T loaded : loader.apply(missing)) {
+                cache.put(idOf.apply(loaded), loaded);
+                found.put(idOf.apply(loaded), loaded);
+            }
+        }
+        return found;
+    }
+
+    public List<CacheStats> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> {
+                    var nativeCache = ((CaffeineCache) cache).getNativeCache();
+                    var stats = nativeCache.stats();
+                    return new CacheStats(cache.getName(), nativeCache.estimatedSize(), stats.hitCount(),
+                            stats.missCount(), stats.hitRate(), stats.evictionCount());
+                })
+                .toList();
+    }
+}
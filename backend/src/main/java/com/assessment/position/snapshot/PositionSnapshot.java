@@ -0,0 +1,548 @@
+package com.assessment.position.snapshot;
+
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import com.assessment.position.routing.PositionShards;
+import com.assessment.position.service.ReferenceDataService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Columnar in-memory copy of the positions table that answers list pages without the database.
+ * While it is disabled or being built, {@link #page} and {@link #listEtag} are empty.
+ */
+@Slf4j
+@Component
+public class PositionSnapshot {
+    // Stands in for a NULL closing date; the lowest value sorts first ascending, as NULL does in SQL
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_CODE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final PositionStatus[] STATUSES = PositionStatus.values();
+    // The status column holds enum names, so the database orders statuses alphabetically
+    private static final int[] STATUS_RANK = new int[STATUSES.length];
+    // Approximate sizes with compressed oops, for the footprint gauge
+    private static final int ROW_BYTES = 3 * Long.BYTES + 4 * Integer.BYTES + Byte.BYTES + 2 * Integer.BYTES;
+    private static final int ORDINAL_ENTRY_BYTES = 72;
+    private static final int STRING_BYTES = 40;
+
+    static {
+        PositionStatus[] byName = STATUSES.clone();
+        Arrays.sort(byName, Comparator.comparing(PositionStatus::name));
+        for (int rank = 0; rank < byName.length; rank++) {
+            STATUS_RANK[byName[rank].ordinal()] = rank;
+        }
+    }
+
+    private final PositionRepository positionRepository;
+    private final ReferenceDataService referenceDataService;
+    private final PositionShards positionShards;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Dictionary<String> locationDictionary = new Dictionary<>();
+    private final Dictionary<Long> recruiterDictionary = new Dictionary<>();
+    private final Dictionary<Long> departmentDictionary = new Dictionary<>();
+    private final Queue<PositionChangedEvent> pendingDuringRebuild = new ArrayDeque<>();
+    private int rows;
+    private long[] ids;
+    private long[] versions;
+    private long[] budgets;
+    private int[] closingDates;
+    private byte[] statuses;
+    private int[] locations;
+    private int[] recruiters;
+    private int[] departments;
+    private String[] titles;
+    private String[] descriptions;
+    private long stringBytes;
+    // Tags from another instance or from before a restart never match
+    private final long epoch = System.currentTimeMillis();
+    private long generation;
+    private boolean rebuilding;
+    private volatile boolean serving;
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    public PositionSnapshot(PositionRepository positionRepository, ReferenceDataService referenceDataService,
+                            PositionShards positionShards, MeterRegistry meterRegistry,
+                            @Value("${application.snapshot.enabled:false}") boolean enabled,
+                            @Value("${application.search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.positionRepository = positionRepository;
+        this.referenceDataService = referenceDataService;
+        this.positionShards = positionShards;
+        this.enabled = enabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+        allocate(INITIAL_CAPACITY);
+        Gauge.builder("position.snapshot.rows", this, PositionSnapshot::size)
+                .description("Positions held in the columnar snapshot")
+                .register(meterRegistry);
+        Gauge.builder("position.snapshot.bytes", this, PositionSnapshot::estimatedBytes)
+                .description("Estimated heap held by the columnar snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            serving = false;
+            rebuilding = true;
+            ordinals.clear();
+            freeOrdinals.clear();
+            live.clear();
+            locationDictionary.clear();
+            recruiterDictionary.clear();
+            departmentDictionary.clear();
+            allocate(INITIAL_CAPACITY);
+            rows = 0;
+            stringBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        PositionCursor cursor = null;
+        List<Position> batch;
+        do {
+            batch = positionRepository.findPositionsAfter(PositionSortField.ID, Sort.Direction.ASC, cursor, rebuildBatchSize);
+            lock.writeLock().lock();
+            try {
+                batch.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                cursor = PositionCursor.after(batch.get(batch.size() - 1), PositionSortField.ID, Sort.Direction.ASC);
+            }
+        } while (batch.size() == rebuildBatchSize);
+
+        lock.writeLock().lock();
+        try {
+            PositionChangedEvent event;
+            while ((event = pendingDuringRebuild.poll()) != null) {
+                apply(event);
+            }
+            generation++;
+            rebuilding = false;
+            serving = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Position snapshot rebuilt with {} positions (~{} KB) in {} ms",
+                size(), estimatedBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPositionChanged(PositionChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                pendingDuringRebuild.add(event);
+            } else {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The page the database would return for the same filter and sort, or empty when the snapshot
+     * is not serving or the sort is not a {@link PositionSortField}.
+     */
+    public Optional<Page<Position>> page(PositionFilter filter, Pageable pageable) {
+        if (!serving) {
+            return Optional.empty();
+        }
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(PositionSortField.ID.getProperty()));
+        Optional<PositionSortField> sortField = PositionSortField.fromProperty(order.getProperty());
+        if (sortField.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Position> content = new ArrayList<>();
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            if (!serving) {
+                return Optional.empty();
+            }
+            IntPredicate matches = matcher(filter);
+            RowComparator comparator = comparator(sortField.get(), order.getDirection());
+            int wanted = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), ordinals.size());
+            // Max-heap of the best rows seen so far; the root is the worst of them
+            int[] heap = new int[wanted];
+            int heapSize = 0;
+            for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+                if (!matches.test(row)) {
+                    continue;
+                }
+                total++;
+                if (heapSize < wanted) {
+                    heap[heapSize] = row;
+                    siftUp(heap, heapSize++, comparator);
+                } else if (wanted > 0 && comparator.compare(row, heap[0]) < 0) {
+                    heap[0] = row;
+                    siftDown(heap, heapSize, comparator);
+                }
+            }
+            // Popping the root repeatedly leaves the rows in sort order
+            for (int end = heapSize - 1; end > 0; end--) {
+                int worst = heap[0];
+                heap[0] = heap[end];
+                heap[end] = worst;
+                siftDown(heap, end, comparator);
+            }
+            for (int i = (int) Math.min(pageable.getOffset(), heapSize); i < heapSize; i++) {
+                content.add(toPosition(heap[i]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Reference entities come from the reference data cache, outside the lock
+        Map<Long, Recruiter> recruiterEntities = referenceDataService.findRecruiters(
+                content.stream().map(position -> position.getRecruiter().getId()).distinct().toList());
+        Map<Long, Department> departmentEntities = referenceDataService.findDepartments(
+                content.stream().map(position -> position.getDepartment().getId()).distinct().toList());
+        for (Position position : content) {
+            position.setRecruiter(recruiterEntities.getOrDefault(position.getRecruiter().getId(), position.getRecruiter()));
+            position.setDepartment(departmentEntities.getOrDefault(position.getDepartment().getId(), position.getDepartment()));
+        }
+        return Optional.of(new PageImpl<>(content, pageable, total));
+    }
+
+    /**
+     * Weak ETag of the pages, bumped by every change the snapshot applies; weak because the same list
+     * is served in several encodings, and Tomcat never gzips strong-tagged responses.
+     */
+    public Optional<String> listEtag() {
+        if (!serving) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return serving ? Optional.of("W/\"s" + epoch + "-" + generation + "\"") : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isServing() {
+        return serving;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Heap held by the columns, strings and id index, estimated from their sizes.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) ids.length * ROW_BYTES + stringBytes + (long) ordinals.size() * ORDINAL_ENTRY_BYTES
+                    + live.size() / Byte.SIZE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(PositionChangedEvent event) {
+        generation++;
+        switch (event.type()) {
+            case DELETED -> remove(event.positionId());
+            case STATUS_CHANGED -> {
+                Integer row = ordinals.get(event.positionId());
+                if (row != null) {
+                    // Set, not incremented: events queued during a rebuild replay over rows that may already hold them
+                    long version = event.position().getVersion();
+                    statuses[row] = (byte) event.position().getStatus().ordinal();
+                    versions[row] = version;
+                }
+            }
+            default -> put(event.position());
+        }
+    }
+
+    private void put(Position position) {
+        Integer existing = ordinals.get(position.getId());
+        int row;
+        if (existing != null) {
+            row = existing;
+            stringBytes -= sizeOf(titles[row]) + sizeOf(descriptions[row]);
+        } else {
+            Integer reused = freeOrdinals.poll();
+            row = reused != null ? reused : rows++;
+            if (row == ids.length) {
+                grow();
+            }
+            ordinals.put(position.getId(), row);
+            live.set(row);
+        }
+        long version = position.getVersion() != null ? position.getVersion() : 0;
+        ids[row] = position.getId();
+        versions[row] = version;
+        budgets[row] = cents(position.getBudget());
+        closingDates[row] = epochDay(position.getClosingDate());
+        statuses[row] = (byte) position.getStatus().ordinal();
+        locations[row] = locationDictionary.encode(position.getLocation());
+        recruiters[row] = recruiterDictionary.encode(position.getRecruiter() != null ? position.getRecruiter().getId() : null);
+        departments[row] = departmentDictionary.encode(position.getDepartment() != null ? position.getDepartment().getId() : null);
+        titles[row] = position.getTitle();
+        descriptions[row] = position.getDescription();
+        stringBytes += sizeOf(titles[row]) + sizeOf(descriptions[row]);
+    }
+
+    private void remove(Long id) {
+        Integer row = ordinals.remove(id);
+        if (row == null) {
+            return;
+        }
+        live.clear(row);
+        stringBytes -= sizeOf(titles[row]) + sizeOf(descriptions[row]);
+        titles[row] = null;
+        descriptions[row] = null;
+        freeOrdinals.push(row);
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        versions = new long[capacity];
+        budgets = new long[capacity];
+        closingDates = new int[capacity];
+        statuses = new byte[capacity];
+        locations = new int[capacity];
+        recruiters = new int[capacity];
+        departments = new int[capacity];
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        budgets = Arrays.copyOf(budgets, capacity);
+        closingDates = Arrays.copyOf(closingDates, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        locations = Arrays.copyOf(locations, capacity);
+        recruiters = Arrays.copyOf(recruiters, capacity);
+        departments = Arrays.copyOf(departments, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    private IntPredicate matcher(PositionFilter filter) {
+        boolean[] statusAllowed = null;
+        if (!filter.statuses().isEmpty()) {
+            statusAllowed = new boolean[STATUSES.length];
+            for (PositionStatus status : filter.statuses()) {
+                statusAllowed[status.ordinal()] = true;
+            }
+        }
+        boolean[] statusMatches = statusAllowed;
+        BitSet departmentCodes = departmentDictionary.codesOf(filter.departmentIds());
+        BitSet recruiterCodes = recruiterDictionary.codesOf(filter.recruiterIds());
+        BitSet locationCodes = locationDictionary.codesOf(filter.locations());
+        boolean dated = filter.closingFrom() != null || filter.closingTo() != null;
+        int from = filter.closingFrom() != null ? epochDay(filter.closingFrom()) : NO_DATE + 1;
+        int to = filter.closingTo() != null ? epochDay(filter.closingTo()) : Integer.MAX_VALUE;
+        return row -> (statusMatches == null || statusMatches[statuses[row]])
+                && (departmentCodes == null || contains(departmentCodes, departments[row]))
+                && (recruiterCodes == null || contains(recruiterCodes, recruiters[row]))
+                && (locationCodes == null || contains(locationCodes, locations[row]))
+                // Like SQL, a range never matches a NULL closing date
+                && (!dated || (closingDates[row] != NO_DATE && closingDates[row] >= from && closingDates[row] <= to));
+    }
+
+    // Key order with id as tie-breaker in the same direction, as PositionSortField.toSort does; text in the database's collation
+    private RowComparator comparator(PositionSortField sortField, Sort.Direction direction) {
+        Comparator<String> textOrder = positionShards.textOrder();
+        RowComparator byKey = switch (sortField) {
+            case ID -> (a, b) -> 0;
+            case TITLE -> (a, b) -> textOrder.compare(titles[a], titles[b]);
+            case LOCATION -> (a, b) -> locations[a] == locations[b] ? 0
+                    : textOrder.compare(locationDictionary.decode(locations[a]), locationDictionary.decode(locations[b]));
+            case STATUS -> (a, b) -> Integer.compare(STATUS_RANK[statuses[a]], STATUS_RANK[statuses[b]]);
+            case BUDGET -> (a, b) -> Long.compare(budgets[a], budgets[b]);
+            case CLOSING_DATE -> (a, b) -> Integer.compare(closingDates[a], closingDates[b]);
+        };
+        RowComparator ascending = (a, b) -> {
+            int result = byKey.compare(a, b);
+            return result != 0 ? result : Long.compare(ids[a], ids[b]);
+        };
+        return direction.isAscending() ? ascending : (a, b) -> ascending.compare(b, a);
+    }
+
+    private Position toPosition(int row) {
+        Position position = new Position();
+        position.setId(ids[row]);
+        position.setTitle(titles[row]);
+        position.setDescription(descriptions[row]);
+        position.setLocation(locationDictionary.decode(locations[row]));
+        position.setStatus(STATUSES[statuses[row]]);
+        position.setBudget(BigDecimal.valueOf(budgets[row], 2));
+        position.setClosingDate(closingDates[row] == NO_DATE ? null : LocalDate.ofEpochDay(closingDates[row]));
+        position.setVersion(versions[row]);
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(recruiterDictionary.decode(recruiters[row]));
+        position.setRecruiter(recruiter);
+        Department department = new Department();
+        department.setId(departmentDictionary.decode(departments[row]));
+        position.setDepartment(department);
+        return position;
+    }
+
+    private static boolean contains(BitSet codes, int code) {
+        return code != NO_CODE && codes.get(code);
+    }
+
+    private static void siftUp(int[] heap, int index, RowComparator comparator) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comparator.compare(row, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int size, RowComparator comparator) {
+        int index = 0;
+        int row = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && comparator.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(row, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    // DECIMAL(19,2) fits a long in cents up to 92 quadrillion
+    private static long cents(BigDecimal budget) {
+        return budget.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static long sizeOf(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return STRING_BYTES + (((long) value.length() * (latin1 ? 1 : 2) + 7) & ~7L);
+    }
+
+    /**
+     * Maps each distinct value to a small code; codes are never reused, the value sets are small.
+     */
+    private static final class Dictionary<T> {
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        int encode(T value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        T decode(int code) {
+            return code == NO_CODE ? null : values.get(code);
+        }
+
+        // null means the dimension is not filtered; values never seen match nothing
+        BitSet codesOf(Collection<T> selected) {
+            if (selected.isEmpty()) {
+                return null;
+            }
+            BitSet result = new BitSet(values.size());
+            for (T value : selected) {
+                Integer code = codes.get(value);
+                if (code != null) {
+                    result.set(code);
+                }
+            }
+            return result;
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.assessment.position.writebehind;
+
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.PositionWriteStatus;
+import com.assessment.position.exception.WriteQueueFullException;
+import com.assessment.position.model.Position;
+import com.assessment.position.service.PositionBulkService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for position creates: a single writer commits accepted writes in batches, in
+ * acceptance order. Queued writes are flushed on graceful shutdown but lost if the process dies.
+ */
+@Slf4j
+@Component
+public class PositionWriteQueue {
+    // Status entries outlive the queue; this only guards memory if clients never poll
+    private static final long MAX_STATUSES = 100_000;
+
+    private final PositionBulkService positionBulkService;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final Duration linger;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Cache<String, PositionWriteStatus> statuses;
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter committed;
+    private final Counter failed;
+    private final DistributionSummary batchSizes;
+    private final Timer commits;
+    private final Timer lag;
+    private volatile boolean running;
+    private Thread writer;
+
+    private record PendingWrite(String trackingId, Position position, long acceptedNanos) {
+    }
+
+    public PositionWriteQueue(PositionBulkService positionBulkService, MeterRegistry meterRegistry,
+                              @Value("${application.write-behind.enabled:false}") boolean enabled,
+                              @Value("${application.write-behind.capacity:10000}") int capacity,
+                              @Value("${application.write-behind.max-batch:500}") int maxBatch,
+                              @Value("${application.write-behind.linger:10ms}") Duration linger,
+                              @Value("${application.write-behind.status-retention:1h}") Duration statusRetention) {
+        this.positionBulkService = positionBulkService;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.linger = linger;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .maximumSize(Math.max(MAX_STATUSES, capacity))
+                .build();
+        Gauge.builder("position.write.behind.queue", queue, BlockingQueue::size)
+                .description("Writes accepted but not yet committed")
+                .register(meterRegistry);
+        this.accepted = writes(meterRegistry, "accepted");
+        this.rejected = writes(meterRegistry, "rejected");
+        this.committed = writes(meterRegistry, "committed");
+        this.failed = writes(meterRegistry, "failed");
+        this.batchSizes = DistributionSummary.builder("position.write.behind.batch.size")
+                .description("Writes committed per transaction")
+                .register(meterRegistry);
+        this.commits = Timer.builder("position.write.behind.commits")
+                .description("Duration of write-behind batch transactions")
+                .register(meterRegistry);
+        this.lag = Timer.builder("position.write.behind.lag")
+                .description("Time from accepting a write to its commit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            running = true;
+            writer = Thread.ofPlatform().name("position-write-behind").daemon().start(this::drain);
+        }
+    }
+
+    /**
+     * Commits what is still queued before the persistence layer shuts down; new writes are refused.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(Duration.ofSeconds(30));
+            if (!queue.isEmpty()) {
+                log.warn("Shutting down with {} uncommitted write-behind writes", queue.size());
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a create and returns its tracking status.
+     *
+     * @throws WriteQueueFullException when the queue is at capacity or shutting down
+     */
+    public PositionWriteStatus enqueue(Position position) {
+        if (!running) {
+            rejected.increment();
+            throw new WriteQueueFullException("Write-behind queue is not accepting writes");
+        }
+        PositionWriteStatus status = PositionWriteStatus.queued(UUID.randomUUID().toString(), Instant.now());
+        // Registered first so a write committed straight away cannot be overwritten by QUEUED
+        statuses.put(status.trackingId(), status);
+        if (!queue.offer(new PendingWrite(status.trackingId(), position, System.nanoTime()))) {
+            statuses.invalidate(status.trackingId());
+            rejected.increment();
+            throw new WriteQueueFullException("Write-behind queue is full, retry later");
+        }
+        accepted.increment();
+        return status;
+    }
+
+    public Optional<PositionWriteStatus> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - batch.size());
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < maxBatch && running) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                log.warn("Write-behind writer interrupted with {} writes still queued", queue.size());
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                }
+                return;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        BulkResponse response;
+        try {
+            response = commits.recordCallable(() ->
+                    positionBulkService.createPositions(batch.stream().map(PendingWrite::position).toList()));
+        } catch (Exception e) {
+            // Nothing of the batch was written
+            if (batch.size() > 1) {
+                // Retry one by one so a single bad row does not fail the writes queued with it
+                log.warn("Write-behind batch of {} failed, committing individually: {}", batch.size(), e.getMessage());
+                batch.forEach(write -> commit(List.of(write)));
+            } else {
+                log.warn("Write-behind write {} failed: {}", batch.get(0).trackingId(), e.getMessage());
+                complete(batch.get(0), null, Map.of("error", String.valueOf(e.getMessage())));
+            }
+            return;
+        }
+        batchSizes.record(batch.size());
+        // Writes on shards that committed are done; only those whose shard rolled back are retried
+        List<PendingWrite> rolledBack = new ArrayList<>();
+        for (BulkItemResult result : response.results()) {
+            PendingWrite write = batch.get(result.index());
+            if (result.status() == BulkItemResult.Status.ROLLED_BACK && batch.size() > 1) {
+                rolledBack.add(write);
+            } else {
+                complete(write, result.succeeded() ? result.id() : null, result.errors());
+            }
+        }
+        if (!rolledBack.isEmpty()) {
+            log.warn("Write-behind batch of {}: {} writes rolled back, committing them individually", batch.size(), rolledBack.size());
+            rolledBack.forEach(write -> commit(List.of(write)));
+        }
+    }
+
+    private void complete(PendingWrite write, Long positionId, Map<String, String> errors) {
+        PositionWriteStatus status = statuses.getIfPresent(write.trackingId());
+        if (status == null) {
+            status = PositionWriteStatus.queued(write.trackingId(), null);
+        }
+        Instant now = Instant.now();
+        if (positionId != null) {
+            statuses.put(write.trackingId(), status.committed(positionId, now));
+            committed.increment();
+            lag.record(System.nanoTime() - write.acceptedNanos(), TimeUnit.NANOSECONDS);
+        } else {
+            statuses.put(write.trackingId(), status.failed(errors, now));
+            failed.increment();
+        }
+    }
+
+    private static Counter writes(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("position.write.behind.writes")
+                .description("Write-behind writes by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+-- Brings a MySQL database created before the current schema up to date; run it once per database
+-- (and per shard) before deploying. The prod profile validates the schema and never runs schema.sql,
+-- whose IF NOT EXISTS index syntax MySQL does not accept.
+
+ALTER TABLE positions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE positions_seq (next_val BIGINT);
+INSERT INTO positions_seq SELECT COALESCE(MAX(id), 0) + 1 FROM positions;
+
+CREATE TABLE position_list_version (id BIGINT PRIMARY KEY, version BIGINT NOT NULL, changed_at BIGINT NOT NULL);
+INSERT INTO position_list_version VALUES (1, 0, 0);
+
+-- Composite (sort key, id) indexes backing keyset pagination on every sortable field
+CREATE INDEX idx_positions_title_id ON positions (title, id);
+CREATE INDEX idx_positions_location_id ON positions (location, id);
+CREATE INDEX idx_positions_status_id ON positions (status, id);
+CREATE INDEX idx_positions_budget_id ON positions (budget, id);
+CREATE INDEX idx_positions_closing_date_id ON positions (closing_date, id);
+
+-- Filter columns without a sort field; these also serve the foreign keys
+CREATE INDEX idx_positions_department_id_id ON positions (department_id, id);
+CREATE INDEX idx_positions_recruiter_id_id ON positions (recruiter_id, id);
@@ -10,6 +10,8 @@ CREATE TABLE IF NOT EXISTS departments (
     code VARCHAR(50) NOT NULL
 );
 
+CREATE SEQUENCE IF NOT EXISTS positions_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS positions (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     title VARCHAR(100) NOT NULL,
@@ -20,6 +22,29 @@ CREATE TABLE IF NOT EXISTS positions (
     department_id BIGINT NOT NULL,
     budget DECIMAL(19,2) NOT NULL,
     closing_date DATE,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (recruiter_id) REFERENCES recruiters(id),
     FOREIGN KEY (department_id) REFERENCES departments(id)
-); 
\ No newline at end of file
+);
+
+-- One row, bumped by every write transaction; the list ETag is read from it
+CREATE TABLE IF NOT EXISTS position_list_version (
+    id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    changed_at BIGINT NOT NULL
+);
+
+INSERT INTO position_list_version (id, version, changed_at)
+SELECT 1, 0, 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM position_list_version WHERE id = 1);
+
+-- Composite (sort key, id) indexes backing keyset pagination on every sortable field; H2 syntax,
+-- MySQL databases get them from db/mysql/upgrade.sql
+CREATE INDEX IF NOT EXISTS idx_positions_title_id ON positions (title, id);
+CREATE INDEX IF NOT EXISTS idx_positions_location_id ON positions (location, id);
+CREATE INDEX IF NOT EXISTS idx_positions_status_id ON positions (status, id);
+CREATE INDEX IF NOT EXISTS idx_positions_budget_id ON positions (budget, id);
+CREATE INDEX IF NOT EXISTS idx_positions_closing_date_id ON positions (closing_date, id);
+
+-- Filter columns without a sort field; these also serve the foreign keys
+CREATE INDEX IF NOT EXISTS idx_positions_department_id_id ON positions (department_id, id);
+CREATE INDEX IF NOT EXISTS idx_positions_recruiter_id_id ON positions (recruiter_id, id);
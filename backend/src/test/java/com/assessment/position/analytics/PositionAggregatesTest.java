@@ -0,0 +1,104 @@
+package com.assessment.position.analytics;
+
+import com.assessment.position.dto.BudgetAggregate;
+import com.assessment.position.dto.PositionAggregateRow;
+import com.assessment.position.dto.PositionAnalytics;
+import com.assessment.position.dto.PositionContribution;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import com.assessment.position.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PositionAggregatesTest {
+
+    private PositionAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        when(positionRepository.aggregateBudgets()).thenReturn(List.of(
+                new PositionAggregateRow(1L, PositionStatus.OPEN, 1L, 2L, new BigDecimal("150000.00")),
+                new PositionAggregateRow(2L, PositionStatus.DRAFT, 1L, 1L, new BigDecimal("40000.00"))));
+        when(positionRepository.findContributions()).thenReturn(List.of(
+                new PositionContribution(1L, 1L, PositionStatus.OPEN, 1L, new BigDecimal("100000.00")),
+                new PositionContribution(2L, 1L, PositionStatus.OPEN, 1L, new BigDecimal("50000.00")),
+                new PositionContribution(3L, 2L, PositionStatus.DRAFT, 1L, new BigDecimal("40000.00"))));
+
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        when(referenceDataService.findDepartments(any())).thenReturn(Map.of(1L, department(1L, "Engineering")));
+        when(referenceDataService.findRecruiters(any())).thenReturn(Map.of());
+
+        aggregates = new PositionAggregates(positionRepository, referenceDataService);
+        aggregates.rebuild();
+    }
+
+    @Test
+    void snapshot_ShouldServeSeededTotals() {
+        PositionAnalytics analytics = aggregates.snapshot();
+
+        assertEquals(3, analytics.headcount());
+        assertEquals(new BigDecimal("190000.00"), analytics.budget());
+        assertEquals(List.of(
+                new BudgetAggregate("1", "Engineering", 2, new BigDecimal("150000.00")),
+                new BudgetAggregate("2", null, 1, new BigDecimal("40000.00"))), analytics.byDepartment());
+    }
+
+    @Test
+    void onPositionChanged_ShouldMovePreviousShareToNewGroups() {
+        aggregates.onPositionChanged(PositionChangedEvent.updated(position(1L, 2L, PositionStatus.OPEN, "90000.00")));
+        aggregates.onPositionChanged(PositionChangedEvent.statusChanged(3L, PositionStatus.OPEN, 2L));
+        aggregates.onPositionChanged(PositionChangedEvent.deleted(2L));
+        aggregates.onPositionChanged(PositionChangedEvent.created(position(4L, 1L, PositionStatus.CLOSED, "10000.00")));
+
+        PositionAnalytics analytics = aggregates.snapshot();
+        assertEquals(3, analytics.headcount());
+        assertEquals(new BigDecimal("140000.00"), analytics.budget());
+        assertEquals(List.of(new BigDecimal("10000.00"), new BigDecimal("130000.00")),
+                analytics.byDepartment().stream().map(BudgetAggregate::budget).toList());
+        assertEquals(List.of(
+                new BudgetAggregate("OPEN", null, 2, new BigDecimal("130000.00")),
+                new BudgetAggregate("CLOSED", null, 1, new BigDecimal("10000.00"))), analytics.byStatus());
+    }
+
+    @Test
+    void onPositionChanged_WithRepeatedCreate_ShouldNotDoubleCount() {
+        Position position = position(5L, 1L, PositionStatus.OPEN, "20000.00");
+        aggregates.onPositionChanged(PositionChangedEvent.created(position));
+        aggregates.onPositionChanged(PositionChangedEvent.created(position));
+
+        assertEquals(4, aggregates.snapshot().headcount());
+    }
+
+    private static Position position(Long id, Long departmentId, PositionStatus status, String budget) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+        Position position = new Position();
+        position.setId(id);
+        position.setStatus(status);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department(departmentId, null));
+        position.setBudget(new BigDecimal(budget));
+        return position;
+    }
+
+    private static Department department(Long id, String name) {
+        Department department = new Department();
+        department.setId(id);
+        department.setName(name);
+        return department;
+    }
+}
@@ -0,0 +1,110 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares insert throughput of POST /api/positions against POST /api/positions/bulk.
+ * Run with {@code mvn test -Pbenchmark}; excluded from the default build.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.com.assessment.position=INFO"})
+class PositionBulkBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2000);
+    private static final int BULK_CHUNK = Integer.getInteger("benchmark.bulk-chunk", 500);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void bulkInsertThroughput_ComparedToSingleItemEndpoint() {
+        // Warm up both paths so JIT and connection pool state do not skew the first measurement
+        insertSingly(200, i -> position("warmup-single-" + i));
+        insertInBulk(200, i -> position("warmup-bulk-" + i));
+
+        double singleRowsPerSecond = insertSingly(ROWS, i -> position("single-" + i));
+        double bulkRowsPerSecond = insertInBulk(ROWS, i -> position("bulk-" + i));
+
+        log.info("rows={} single={} rows/s bulk(chunk={})={} rows/s speedup={}x", ROWS, Math.round(singleRowsPerSecond),
+                BULK_CHUNK, Math.round(bulkRowsPerSecond), "%.1f".formatted(bulkRowsPerSecond / singleRowsPerSecond));
+        assertTrue(bulkRowsPerSecond > singleRowsPerSecond,
+                () -> "bulk " + bulkRowsPerSecond + " rows/s is not faster than single " + singleRowsPerSecond + " rows/s");
+    }
+
+    private double insertSingly(int rows, IntFunction<Position> factory) {
+        long started = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            ResponseEntity<Position> response = restTemplate.postForEntity("/api/positions",
+                    new HttpEntity<>(factory.apply(i), headers()), Position.class);
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        }
+        return rows / seconds(started);
+    }
+
+    private double insertInBulk(int rows, IntFunction<Position> factory) {
+        long started = System.nanoTime();
+        for (int from = 0; from < rows; from += BULK_CHUNK) {
+            List<Position> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + BULK_CHUNK, rows); i++) {
+                chunk.add(factory.apply(i));
+            }
+            ResponseEntity<BulkResponse> response = restTemplate.exchange("/api/positions/bulk", HttpMethod.POST,
+                    new HttpEntity<>(chunk, headers()), BulkResponse.class);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(chunk.size(), response.getBody().succeeded());
+        }
+        return rows / seconds(started);
+    }
+
+    private static Position position(String title) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+        Department department = new Department();
+        department.setId(1L);
+
+        Position position = new Position();
+        position.setTitle(title);
+        position.setDescription("Benchmark position");
+        position.setLocation("Remote");
+        position.setStatus(PositionStatus.OPEN);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setBudget(new BigDecimal("75000.00"));
+        return position;
+    }
+
+    private static HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-API-KEY", "1234567890");
+        return headers;
+    }
+
+    private static double seconds(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,118 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import com.assessment.position.routing.PositionShards;
+import com.assessment.position.routing.TextCollation;
+import com.assessment.position.service.ReferenceDataService;
+import com.assessment.position.snapshot.PositionSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the heap retained by {@link PositionSnapshot} per 100k rows and the latency of
+ * in-memory list pages, and checks the {@code position.snapshot.bytes} estimate against the
+ * measurement. Run with {@code mvn test -Pbenchmark}; excluded from the default build.
+ */
+@Slf4j
+@Tag("benchmark")
+class PositionSnapshotFootprintTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final String[] LOCATIONS = {"Madrid", "Barcelona", "Valencia", "Sevilla", "Remote"};
+
+    @Test
+    void heapPer100kRows_AndPageLatency() throws InterruptedException {
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        when(referenceDataService.findRecruiters(any())).thenReturn(Map.of());
+        when(referenceDataService.findDepartments(any())).thenReturn(Map.of());
+        PositionSnapshot snapshot = new PositionSnapshot(positionRepository, referenceDataService,
+                new PositionShards("", TextCollation.BINARY, 10000), new SimpleMeterRegistry(), true, 1000);
+        snapshot.rebuild();
+
+        long before = usedHeapAfterGc();
+        Random random = new Random(7);
+        for (long id = 1; id <= ROWS; id++) {
+            snapshot.onPositionChanged(PositionChangedEvent.created(position(id, random)));
+        }
+        long retained = usedHeapAfterGc() - before;
+
+        List<PositionFilter> filters = List.of(PositionFilter.NONE,
+                new PositionFilter(Set.of(PositionStatus.OPEN), Set.of(3L), null, Set.of("Remote"), null, null));
+        for (int i = 0; i < 200; i++) {
+            page(snapshot, filters.get(i % 2), PositionSortField.values()[i % 6], i % 10);
+        }
+        long started = System.nanoTime();
+        int pages = 600;
+        for (int i = 0; i < pages; i++) {
+            page(snapshot, filters.get(i % 2), PositionSortField.values()[i % 6], i % 10);
+        }
+        double pageMillis = (System.nanoTime() - started) / 1e6 / pages;
+
+        log.info("rows={} measured={} MB ({} MB per 100k rows) estimated={} MB page={} ms", ROWS,
+                "%.1f".formatted(retained / 1e6), "%.1f".formatted(retained / 1e6 * 100_000 / ROWS),
+                "%.1f".formatted(snapshot.estimatedBytes() / 1e6), "%.2f".formatted(pageMillis));
+        assertEquals(ROWS, snapshot.size());
+        // The gauge is an estimate, but it must stay within a factor of two of the heap actually retained
+        assertTrue(snapshot.estimatedBytes() > retained / 2 && snapshot.estimatedBytes() < retained * 2,
+                () -> "estimated " + snapshot.estimatedBytes() + " bytes, measured " + retained);
+    }
+
+    private static void page(PositionSnapshot snapshot, PositionFilter filter, PositionSortField sortField, int page) {
+        assertTrue(snapshot.page(filter, PageRequest.of(page, 20, sortField.toSort(Sort.Direction.ASC))).isPresent());
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // Titles and descriptions of typical length; the strings dominate the footprint
+    private static Position position(long id, Random random) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L + random.nextInt(50));
+        Department department = new Department();
+        department.setId(1L + random.nextInt(20));
+        Position position = new Position();
+        position.setId(id);
+        position.setTitle("Senior Software Engineer " + id);
+        position.setDescription("Design, build and operate the services behind our hiring platform. Position " + id
+                + " works with product and recruiting to ship features end to end.");
+        position.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+        position.setStatus(PositionStatus.values()[random.nextInt(PositionStatus.values().length)]);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setBudget(BigDecimal.valueOf(30000 + random.nextInt(90000)));
+        position.setClosingDate(LocalDate.of(2030, 1, 1).plusDays(random.nextInt(730)));
+        position.setVersion(0L);
+        return position;
+    }
+}
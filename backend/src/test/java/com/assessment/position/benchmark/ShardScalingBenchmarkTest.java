@@ -0,0 +1,149 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.PositionManagementApplication;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.service.PositionBulkService;
+import com.assessment.position.service.PositionService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same workload with positions split over 1, 2 and 4 in-memory H2 shards and logs
+ * concurrent insert throughput, single-department read latency and scatter-gather list latency.
+ * Run with {@code mvn test -Pbenchmark}. All H2 shards share this machine's CPUs, so write scaling
+ * only shows with several cores; the read numbers show what a scatter-gather merge costs.
+ */
+@Slf4j
+@Tag("benchmark")
+class ShardScalingBenchmarkTest {
+    private static final List<Integer> SHARD_COUNTS = Arrays.stream(System.getProperty("benchmark.shards", "1,2,4").split(","))
+            .map(String::trim).map(Integer::valueOf).toList();
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int WRITERS = Integer.getInteger("benchmark.writers", 16);
+    private static final int READS = Integer.getInteger("benchmark.reads", 500);
+    private static final int DEPARTMENTS = 7;
+
+    @Test
+    void throughputAndLatency_ByShardCount() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (int shards : SHARD_COUNTS) {
+            results.add(run(shards));
+        }
+        log.info("rows={} writers={} reads={}\n{}", ROWS, WRITERS, READS, String.join("\n", results));
+    }
+
+    private String run(int shards) throws Exception {
+        String shardUrls = IntStream.range(1, shards)
+                .mapToObj(shard -> "jdbc:h2:mem:scaling-" + shards + "-" + shard + ";DB_CLOSE_DELAY=-1")
+                .collect(Collectors.joining(","));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PositionManagementApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:scaling-" + shards + "-0",
+                        "--application.sharding.shard-urls=" + shardUrls,
+                        "--application.sweeper.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.com.assessment.position=INFO")) {
+            PositionService positionService = context.getBean(PositionService.class);
+            PositionBulkService positionBulkService = context.getBean(PositionBulkService.class);
+
+            long seeded = total(positionService);
+            // Seed most rows in bulk, then time concurrent single inserts
+            for (int from = 0; from < ROWS; from += 500) {
+                positionBulkService.createPositions(IntStream.range(from, Math.min(from + 500, ROWS)).mapToObj(ShardScalingBenchmarkTest::position).toList());
+            }
+            int timedWrites = ROWS / 4;
+            double writesPerSecond = timedWrites / seconds(() -> concurrently(timedWrites,
+                    i -> positionService.createPosition(position(ROWS + i))));
+            assertEquals(seeded + ROWS + timedWrites, total(positionService));
+
+            Sort sort = PositionSortField.BUDGET.toSort(Sort.Direction.DESC);
+            PositionFilter oneDepartment = new PositionFilter(null, Set.of(1L), null, null, null, null);
+            // Warm up both read paths before measuring
+            latencies(READS, () -> positionService.getPositions(oneDepartment, PageRequest.of(0, 20, sort)));
+            latencies(READS, () -> positionService.getAllPositions(PageRequest.of(0, 20, sort)));
+
+            double[] single = latencies(READS, () -> positionService.getPositions(oneDepartment, PageRequest.of(2, 20, sort)));
+            double[] scatter = latencies(READS, () -> positionService.getAllPositions(PageRequest.of(2, 20, sort)));
+            return "shards=%d inserts=%.0f/s single-department p50=%.2fms p99=%.2fms scatter-gather p50=%.2fms p99=%.2fms"
+                    .formatted(shards, writesPerSecond, single[0], single[1], scatter[0], scatter[1]);
+        }
+    }
+
+    private static long total(PositionService positionService) {
+        return positionService.getAllPositions(PageRequest.of(0, 1)).getTotalElements();
+    }
+
+    private static void concurrently(int tasks, IntConsumer task) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> task.accept(index)));
+            }
+            for (Future<?> future : futures) {
+                assertDoesNotThrow(() -> future.get());
+            }
+        }
+    }
+
+    /** p50 and p99 in milliseconds. */
+    private static double[] latencies(int calls, Supplier<?> call) {
+        long[] nanos = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            long started = System.nanoTime();
+            assertNotNull(call.get());
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[calls / 2] / 1e6, nanos[calls * 99 / 100] / 1e6};
+    }
+
+    private static double seconds(Runnable work) {
+        long started = System.nanoTime();
+        work.run();
+        return (System.nanoTime() - started) / 1_000_000_000.0;
+    }
+
+    private static Position position(int i) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L + i % 5);
+        Department department = new Department();
+        department.setId(1L + i % DEPARTMENTS);
+
+        Position position = new Position();
+        position.setTitle("Scaling " + i);
+        position.setDescription("Benchmark position");
+        position.setLocation("Remote");
+        position.setStatus(PositionStatus.OPEN);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setBudget(new BigDecimal(40000 + (i * 7919) % 60000));
+        return position;
+    }
+}
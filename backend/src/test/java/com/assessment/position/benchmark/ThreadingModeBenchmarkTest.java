@@ -0,0 +1,145 @@
+package com.assessment.position.benchmark;
+
+import com.assessment.position.PositionManagementApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the same concurrent GET /api/positions load against the app on Tomcat's platform thread
+ * pool and on virtual threads, and logs throughput and latency percentiles for both.
+ * Run with {@code mvn test -Pbenchmark}. In-memory H2 never parks on I/O, so point DB_URL at MySQL
+ * for numbers that reflect production.
+ */
+@Slf4j
+@Tag("benchmark")
+class ThreadingModeBenchmarkTest {
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+    private static final int SEED_ROWS = 200;
+
+    @Test
+    void virtualThreads_ComparedToPlatformThreadPool() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        log.info("concurrency={} duration={}s\n{}\n{}", CONCURRENCY, SECONDS, platform, virtual);
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+        assertTrue(platform.requestsPerSecond() > 0, platform::toString);
+        assertTrue(virtual.requestsPerSecond() > 0, virtual::toString);
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        String dbUrl = System.getenv().getOrDefault("DB_URL", "jdbc:h2:mem:threading-" + mode);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PositionManagementApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + dbUrl,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        // Measure the threading model, not the per-key limits
+                        "--application.security.rate-limit.requests-per-second=0",
+                        "--application.security.rate-limit.max-concurrent=0",
+                        "--logging.level.com.assessment.position=INFO")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            seed(client, port);
+
+            // Warm up JIT and the connection pool before measuring
+            load(client, port, Math.max(1, SECONDS / 2));
+            return Result.of(mode, load(client, port, SECONDS), SECONDS);
+        }
+    }
+
+    private static void seed(HttpClient client, int port) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < SEED_ROWS; i++) {
+            body.append(i == 0 ? "" : ",").append("""
+                    {"title":"Threading %d","description":"Benchmark position","location":"Remote","status":"OPEN",\
+                    "recruiter":{"id":1},"department":{"id":1},"budget":75000.00}""".formatted(i));
+        }
+        HttpResponse<String> response = client.send(request(port, "/api/positions/bulk")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.append("]").toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+    }
+
+    private static Samples load(HttpClient client, int port, int seconds) throws Exception {
+        HttpRequest request = request(port, "/api/positions?page=0&size=20").GET().build();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long started = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - started;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> all = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            all.add(worker.get());
+        }
+        long[] latencies = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Samples(latencies, errors.get());
+    }
+
+    private static HttpRequest.Builder request(int port, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).header("X-API-KEY", "1234567890");
+    }
+
+    private record Samples(long[] sortedLatencies, int errors) {
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    private record Result(String mode, double requestsPerSecond, double p50, double p99, double p999, int errors) {
+        static Result of(String mode, Samples samples, int seconds) {
+            return new Result(mode, (double) samples.sortedLatencies().length / seconds, samples.percentileMillis(0.50),
+                    samples.percentileMillis(0.99), samples.percentileMillis(0.999), samples.errors());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %8.0f req/s  p50=%.1f ms  p99=%.1f ms  p999=%.1f ms  errors=%d",
+                    mode, requestsPerSecond, p50, p99, p999, errors);
+        }
+    }
+}
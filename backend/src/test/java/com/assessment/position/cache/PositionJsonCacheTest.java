@@ -0,0 +1,84 @@
+package com.assessment.position.cache;
+
+import com.assessment.position.model.Position;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionJsonCacheTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, Position> loader = id -> {
+        loads.incrementAndGet();
+        Position position = new Position();
+        position.setId(id);
+        position.setTitle("x".repeat(1000));
+        position.setVersion(7L);
+        return position;
+    };
+
+    @Test
+    void get_ShouldServeCachedBytes_AndReportHitRatio() {
+        PositionJsonCache cache = cache(DataSize.ofMegabytes(1));
+
+        PositionJsonCache.Entry first = cache.get(1L, 7L, loader);
+        PositionJsonCache.Entry second = cache.get(1L, 7L, loader);
+
+        assertSame(first, second);
+        assertEquals(7L, first.version());
+        assertEquals(1, loads.get());
+        assertEquals(0.5, cache.stats().hitRate());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", PositionJsonCache.NAME).tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void get_ShouldReload_WhenTheVersionMoved() {
+        PositionJsonCache cache = cache(DataSize.ofMegabytes(1));
+        cache.get(1L, 7L, loader);
+
+        cache.get(1L, 8L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldNotCache_ABodyOlderThanTheVersionRead() {
+        PositionJsonCache cache = cache(DataSize.ofMegabytes(1));
+
+        // A lagging replica still returns version 7
+        cache.get(1L, 8L, loader);
+        cache.get(1L, 8L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldEvictByTotalBytes() throws InterruptedException {
+        PositionJsonCache cache = cache(DataSize.ofKilobytes(20));
+        for (long id = 1; id <= 100; id++) {
+            cache.get(id, 7L, loader);
+        }
+
+        // Caffeine evicts on a background thread
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        double bytes;
+        while ((bytes = meterRegistry.get("position.json.cache.bytes").gauge().value()) > 20 * 1024
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(bytes > 0 && bytes <= 20 * 1024, String.valueOf(bytes));
+    }
+
+    private PositionJsonCache cache(DataSize maximumBytes) {
+        return new PositionJsonCache(new ObjectMapper().findAndRegisterModules(), meterRegistry, maximumBytes,
+                Duration.ofMinutes(10));
+    }
+}
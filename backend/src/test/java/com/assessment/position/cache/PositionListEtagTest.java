@@ -0,0 +1,68 @@
+package com.assessment.position.cache;
+
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionListVersion;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionListVersionRepository;
+import com.assessment.position.service.PositionBulkService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"application.sweeper.enabled=false", "spring.jpa.show-sql=false"})
+class PositionListEtagTest {
+
+    @Autowired
+    private PositionListEtag positionListEtag;
+
+    @Autowired
+    private PositionListVersionRepository listVersionRepository;
+
+    @Autowired
+    private PositionBulkService positionBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void onPositionChanged_ShouldBumpTheRowOncePerTransaction() {
+        long before = listVersionRepository.findById(PositionListVersion.ID).orElseThrow().getVersion();
+
+        positionBulkService.createPositions(List.of(position("First"), position("Second"), position("Third")));
+
+        assertEquals(before + 1, listVersionRepository.findById(PositionListVersion.ID).orElseThrow().getVersion());
+    }
+
+    @Test
+    void current_ShouldChange_WhenAnotherInstanceWrites() {
+        String before = positionListEtag.current().orElseThrow();
+
+        jdbcTemplate.update("UPDATE position_list_version SET version = version + 1 WHERE id = 1");
+
+        assertNotEquals(before, positionListEtag.current().orElseThrow());
+    }
+
+    private static Position position(String title) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+        Department department = new Department();
+        department.setId(1L);
+        Position position = new Position();
+        position.setTitle(title);
+        position.setDescription("List version");
+        position.setLocation("Madrid");
+        position.setStatus(PositionStatus.OPEN);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setBudget(new BigDecimal("50000"));
+        return position;
+    }
+}
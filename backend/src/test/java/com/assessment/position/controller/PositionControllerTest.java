@@ -1,12 +1,36 @@
 package com.assessment.position.controller;
 
+import com.assessment.position.cache.PositionJsonCache;
 import com.assessment.position.config.TestSecurityConfig;
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BudgetAggregate;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.CursorPage;
+import com.assessment.position.dto.FacetCount;
+import com.assessment.position.dto.FacetedPage;
+import com.assessment.position.dto.PositionAnalytics;
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.dto.PositionFacets;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.dto.PositionSearchHit;
+import com.assessment.position.dto.PositionWriteStatus;
+import com.assessment.position.exception.VersionConflictException;
+import com.assessment.position.exception.WriteQueueFullException;
 import com.assessment.position.model.Position;
 import com.assessment.position.model.Recruiter;
 import com.assessment.position.model.Department;
+import com.assessment.position.model.PositionField;
+import com.assessment.position.model.PositionSortField;
 import com.assessment.position.model.PositionStatus;
+import com.assessment.position.service.PositionBulkService;
+import com.assessment.position.service.PositionExportService;
+import com.assessment.position.service.PositionImportService;
 import com.assessment.position.service.PositionService;
+import com.assessment.position.writebehind.PositionWriteQueue;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,21 +41,33 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PositionController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, PositionJsonCache.class, SimpleMeterRegistry.class})
 class PositionControllerTest {
 
     @Autowired
@@ -40,9 +76,24 @@ class PositionControllerTest {
     @MockBean
     private PositionService positionService;
 
+    @MockBean
+    private PositionBulkService positionBulkService;
+
+    @MockBean
+    private PositionExportService positionExportService;
+
+    @MockBean
+    private PositionImportService positionImportService;
+
+    @MockBean
+    private PositionWriteQueue positionWriteQueue;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PositionJsonCache positionJsonCache;
+
     private Position testPosition;
     private List<Position> testPositions;
     private Page<Position> testPositionPage;
@@ -68,15 +119,19 @@ class PositionControllerTest {
         testPosition.setRecruiter(recruiter);
         testPosition.setDepartment(department);
         testPosition.setBudget(new BigDecimal("100000.00"));
+        testPosition.setVersion(3L);
 
         testPositions = Arrays.asList(testPosition);
         testPositionPage = new PageImpl<>(testPositions, PageRequest.of(0, 10), 1);
+        when(positionService.getListEtag()).thenReturn(Optional.of("W/\"1-3\""));
+        positionJsonCache.invalidateAll();
     }
 
     @Test
     void getAllPositions_ShouldReturnPositionsList() throws Exception {
         PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-        when(positionService.getAllPositions(any(PageRequest.class))).thenReturn(testPositionPage);
+        when(positionService.getPositions(eq(PositionFilter.NONE), any(PageRequest.class)))
+                .thenReturn(new FacetedPage<>(testPositionPage, new PositionFacets(List.of(), List.of(), List.of(), List.of())));
 
         mockMvc.perform(get("/api/positions")
                 .header("X-API-KEY", "1234567890"))
@@ -90,17 +145,253 @@ class PositionControllerTest {
                 .andExpect(jsonPath("$.number").value(0));
     }
 
+    @Test
+    void getAllPositions_WithFilters_ShouldReturnFacetCounts() throws Exception {
+        PositionFilter filter = new PositionFilter(Set.of(PositionStatus.OPEN, PositionStatus.DRAFT), Set.of(1L), null,
+                Set.of("New York, NY"), LocalDate.of(2030, 1, 1), null);
+        PositionFacets facets = new PositionFacets(
+                List.of(new FacetCount("OPEN", null, 1), new FacetCount("DRAFT", null, 0)),
+                List.of(new FacetCount("1", "Engineering", 1)), List.of(), List.of());
+        when(positionService.getPositions(eq(filter), any(PageRequest.class))).thenReturn(new FacetedPage<>(testPositionPage, facets));
+
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("status", "OPEN,DRAFT")
+                .param("departmentId", "1")
+                .param("location", "New York, NY")
+                .param("closingFrom", "2030-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Software Engineer"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.facets.status[0].value").value("OPEN"))
+                .andExpect(jsonPath("$.facets.status[0].count").value(1))
+                .andExpect(jsonPath("$.facets.department[0].label").value("Engineering"));
+    }
+
+    @Test
+    void getAllPositions_WithUnknownStatus_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("status", "PAUSED"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("Invalid value: PAUSED"));
+    }
+
+    @Test
+    void getPositionsByCursor_ShouldReturnCursorPage() throws Exception {
+        String nextCursor = PositionCursor.after(testPosition, PositionSortField.TITLE, Sort.Direction.ASC).encode();
+        when(positionService.getPositionsAfter(eq(PositionSortField.TITLE), eq(Sort.Direction.ASC), isNull(), eq(1)))
+                .thenReturn(new CursorPage<>(testPositions, 1, true, nextCursor));
+
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Software Engineer"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void getPositionsByCursor_WithCursor_ShouldUseCursorSort() throws Exception {
+        PositionCursor cursor = PositionCursor.after(testPosition, PositionSortField.BUDGET, Sort.Direction.DESC);
+        when(positionService.getPositionsAfter(eq(PositionSortField.BUDGET), eq(Sort.Direction.DESC), eq(cursor), eq(10)))
+                .thenReturn(new CursorPage<>(List.of(), 10, false, null));
+
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("cursor", cursor.encode())
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(positionService).getPositionsAfter(PositionSortField.BUDGET, Sort.Direction.DESC, cursor, 10);
+    }
+
+    @Test
+    void getAllPositions_WithUnindexedSortField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("sortBy", "description"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported sort field: description"));
+
+        verify(positionService, never()).getPositions(any(), any());
+    }
+
+    @Test
+    void getAllPositions_ShouldSortByIdWithinEqualKeys() throws Exception {
+        when(positionService.getPositions(eq(PositionFilter.NONE), any(PageRequest.class)))
+                .thenReturn(new FacetedPage<>(testPositionPage, new PositionFacets(List.of(), List.of(), List.of(), List.of())));
+
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("sortBy", "budget")
+                .param("direction", "desc"))
+                .andExpect(status().isOk());
+
+        verify(positionService).getPositions(PositionFilter.NONE,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "budget").and(Sort.by(Sort.Direction.DESC, "id"))));
+    }
+
+    @Test
+    void getPositionsByCursor_WithUnknownSortField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("limit", "10")
+                .param("sortBy", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPositionFields_ShouldReturnRequestedFieldsOnly() throws Exception {
+        Map<String, Object> row = Map.of("id", 1L, "title", "Software Engineer");
+        when(positionService.getPositionFields(eq(List.of(PositionField.ID, PositionField.TITLE)), any()))
+                .thenReturn(new PageImpl<>(List.of(row)));
+
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Software Engineer"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+    }
+
+    @Test
+    void getPositionFields_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .param("fields", "title,salary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchPositions_ShouldReturnRankedHits() throws Exception {
+        PositionSearchHit hit = new PositionSearchHit(1L, "Software Engineer", "Remote", PositionStatus.OPEN,
+                1L, "Engineering", 2.5);
+        when(positionService.searchPositions(eq("java remote"), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(hit), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/positions/search")
+                .header("X-API-KEY", "1234567890")
+                .param("q", "java remote"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].departmentName").value("Engineering"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void getAnalytics_ShouldReturnAggregates() throws Exception {
+        BudgetAggregate engineering = new BudgetAggregate("1", "Engineering", 2, new BigDecimal("150000.00"));
+        when(positionService.getAnalytics()).thenReturn(new PositionAnalytics(2, new BigDecimal("150000.00"),
+                List.of(engineering), List.of(new BudgetAggregate("OPEN", null, 2, new BigDecimal("150000.00"))), List.of()));
+
+        mockMvc.perform(get("/api/positions/analytics")
+                .header("X-API-KEY", "1234567890"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.headcount").value(2))
+                .andExpect(jsonPath("$.byDepartment[0].name").value("Engineering"))
+                .andExpect(jsonPath("$.byStatus[0].key").value("OPEN"))
+                .andExpect(jsonPath("$.byStatus[0].name").doesNotExist());
+    }
+
+    @Test
+    void exportPositions_WithUnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/positions/export")
+                .header("X-API-KEY", "1234567890")
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getPosition_ShouldReturnPosition() throws Exception {
+        when(positionService.getPositionVersion(1L)).thenReturn(3L);
         when(positionService.getPosition(1L)).thenReturn(testPosition);
 
         mockMvc.perform(get("/api/positions/1")
                 .header("X-API-KEY", "1234567890"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(jsonPath("$.title").value("Software Engineer"));
     }
 
+    @Test
+    void getPosition_ShouldServeRepeatedReadsFromJsonCache_UntilTheVersionMoves() throws Exception {
+        when(positionService.getPositionVersion(2L)).thenReturn(3L);
+        when(positionService.getPosition(2L)).thenReturn(testPosition);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/positions/2")
+                    .header("X-API-KEY", "1234567890"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                    .andExpect(content().json(objectMapper.writeValueAsString(testPosition), true));
+        }
+        verify(positionService, times(1)).getPosition(2L);
+
+        // Written through another instance: no event reaches this one
+        when(positionService.getPositionVersion(2L)).thenReturn(4L);
+        mockMvc.perform(get("/api/positions/2")
+                .header("X-API-KEY", "1234567890"))
+                .andExpect(status().isOk());
+        verify(positionService, times(2)).getPosition(2L);
+    }
+
+    @Test
+    void getPosition_WithMatchingEtag_ShouldAnswerFromTheVersionAlone() throws Exception {
+        when(positionService.getPositionVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/positions/1")
+                .header("X-API-KEY", "1234567890")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified());
+
+        verify(positionService, never()).getPosition(1L);
+    }
+
+    @Test
+    void getPosition_AcceptingCbor_ShouldReturnCborEncodedPosition() throws Exception {
+        when(positionService.getPosition(1L)).thenReturn(testPosition);
+
+        byte[] body = mockMvc.perform(get("/api/positions/1")
+                .header("X-API-KEY", "1234567890")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Position decoded = new CBORMapper().findAndRegisterModules().readValue(body, Position.class);
+        assertEquals("Software Engineer", decoded.getTitle());
+        assertEquals(new BigDecimal("100000.00"), decoded.getBudget());
+    }
+
+    @Test
+    void getPosition_WithMatchingEtag_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        when(positionService.getPositionVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/positions/1")
+                .header("X-API-KEY", "1234567890")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified());
+
+        verify(positionService, never()).getPosition(1L);
+    }
+
+    @Test
+    void getAllPositions_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(positionService, never()).getPositions(any(), any());
+    }
+
     @Test
     void createPosition_ShouldReturnCreatedPosition() throws Exception {
         when(positionService.createPosition(any(Position.class))).thenReturn(testPosition);
@@ -113,9 +404,41 @@ class PositionControllerTest {
                 .andExpect(jsonPath("$.title").value("Software Engineer"));
     }
 
+    @Test
+    void createPosition_ShouldQueueWrite_WhenAsyncIsPreferred() throws Exception {
+        when(positionWriteQueue.isEnabled()).thenReturn(true);
+        when(positionWriteQueue.enqueue(any(Position.class))).thenReturn(PositionWriteStatus.queued("abc", Instant.now()));
+
+        mockMvc.perform(post("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testPosition)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/positions/writes/abc"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+
+        verify(positionService, never()).createPosition(any());
+    }
+
+    @Test
+    void createPosition_ShouldReturnTooManyRequests_WhenWriteQueueIsFull() throws Exception {
+        when(positionWriteQueue.isEnabled()).thenReturn(true);
+        when(positionWriteQueue.enqueue(any(Position.class))).thenThrow(new WriteQueueFullException("Write-behind queue is full, retry later"));
+
+        mockMvc.perform(post("/api/positions")
+                .header("X-API-KEY", "1234567890")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testPosition)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void updatePosition_ShouldReturnUpdatedPosition() throws Exception {
-        when(positionService.updatePosition(eq(1L), any(Position.class))).thenReturn(testPosition);
+        when(positionService.updatePosition(eq(1L), any(Position.class), isNull())).thenReturn(testPosition);
 
         mockMvc.perform(put("/api/positions/1")
                 .header("X-API-KEY", "1234567890")
@@ -125,10 +448,104 @@ class PositionControllerTest {
                 .andExpect(jsonPath("$.title").value("Software Engineer"));
     }
 
+    @Test
+    void updatePosition_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        when(positionService.updatePosition(eq(1L), any(Position.class), eq(3L)))
+                .thenThrow(new VersionConflictException("Position 1 has version 4, expected 3"));
+
+        mockMvc.perform(put("/api/positions/1")
+                .header("X-API-KEY", "1234567890")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testPosition)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchPosition_ShouldReturnPatchedPositionWithEtag() throws Exception {
+        testPosition.setVersion(4L);
+        when(positionService.patchPosition(eq(1L), any(ObjectNode.class), eq(3L))).thenReturn(testPosition);
+
+        mockMvc.perform(patch("/api/positions/1")
+                .header("X-API-KEY", "1234567890")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"status\":\"OPEN\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.title").value("Software Engineer"));
+    }
+
+    @Test
+    void transitionStatus_ShouldReturnPerItemResults() throws Exception {
+        when(positionBulkService.transitionStatus(List.of(1L, 2L), Set.of(PositionStatus.DRAFT), PositionStatus.OPEN))
+                .thenReturn(BulkResponse.of(List.of(
+                        BulkItemResult.success(0, 1L, BulkItemResult.Status.UPDATED),
+                        BulkItemResult.failure(1, 2L, Map.of("error", "Position not found or not in status [DRAFT]")))));
+
+        mockMvc.perform(patch("/api/positions/bulk/status")
+                .header("X-API-KEY", "1234567890")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2],\"from\":[\"DRAFT\"],\"to\":\"OPEN\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"));
+    }
+
+    @Test
+    void transitionStatus_WithoutTargetStatus_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/positions/bulk/status")
+                .header("X-API-KEY", "1234567890")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deletePosition_ShouldReturnNoContent() throws Exception {
         mockMvc.perform(delete("/api/positions/1")
                 .header("X-API-KEY", "1234567890"))
                 .andExpect(status().isNoContent());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void createPositions_ShouldReturnPerItemResults() throws Exception {
+        when(positionBulkService.createPositions(any())).thenReturn(BulkResponse.of(List.of(
+                BulkItemResult.success(0, 1L, BulkItemResult.Status.CREATED),
+                BulkItemResult.failure(1, null, Map.of("title", "must not be blank")))));
+
+        mockMvc.perform(post("/api/positions/bulk")
+                .header("X-API-KEY", "1234567890")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testPosition, new Position()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].errors.title").value("must not be blank"));
+    }
+
+    @Test
+    void deletePositions_ShouldReturnPerItemResults() throws Exception {
+        when(positionBulkService.deletePositions(List.of(1L, 2L))).thenReturn(BulkResponse.of(List.of(
+                BulkItemResult.success(0, 1L, BulkItemResult.Status.DELETED),
+                BulkItemResult.failure(1, 2L, Map.of("error", "Position not found with id: 2")))));
+
+        mockMvc.perform(delete("/api/positions/bulk")
+                .header("X-API-KEY", "1234567890")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("DELETED"))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"));
+    }
+
+    @Test
+    void importPositions_WithUnsupportedContentType_ShouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/positions/import")
+                .header("X-API-KEY", "1234567890")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<positions/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,76 @@
+package com.assessment.position.controller;
+
+import com.assessment.position.config.TestSecurityConfig;
+import com.assessment.position.dto.ReferenceList;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RecruiterController.class)
+@Import(TestSecurityConfig.class)
+class RecruiterControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReferenceDataService referenceDataService;
+
+    private ReferenceList<Recruiter> recruiters;
+
+    @BeforeEach
+    void setUp() {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+        recruiter.setName("Juan Perez");
+        recruiter.setEmail("jperez@company.com");
+        recruiters = ReferenceList.of(List.of(recruiter));
+    }
+
+    @Test
+    void getAllRecruiters_ShouldReturnEtagAndCacheControl() throws Exception {
+        when(referenceDataService.getAllRecruiters()).thenReturn(recruiters);
+
+        mockMvc.perform(get("/api/recruiters")
+                .header("X-API-KEY", "1234567890"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, recruiters.etag()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=300")))
+                .andExpect(jsonPath("$[0].name").value("Juan Perez"));
+    }
+
+    @Test
+    void getAllRecruiters_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        when(referenceDataService.getAllRecruiters()).thenReturn(recruiters);
+
+        mockMvc.perform(get("/api/recruiters")
+                .header("X-API-KEY", "1234567890")
+                .header(HttpHeaders.IF_NONE_MATCH, recruiters.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getRecruiter_WithUnknownId_ShouldReturnNotFound() throws Exception {
+        when(referenceDataService.findRecruiter(9L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/recruiters/9")
+                .header("X-API-KEY", "1234567890"))
+                .andExpect(status().isNotFound());
+    }
+}
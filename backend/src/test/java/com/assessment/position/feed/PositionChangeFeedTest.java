@@ -0,0 +1,140 @@
+package com.assessment.position.feed;
+
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.PositionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionChangeFeedTest {
+    private MeterRegistry meterRegistry;
+    private PositionChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new PositionChangeFeed(new ObjectMapper().findAndRegisterModules(), meterRegistry, 3, Duration.ofMinutes(1), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    void subscribe_ShouldDeliverLiveChanges_WithoutReplayingOlderOnes() throws InterruptedException {
+        feed.onPositionChanged(PositionChangedEvent.deleted(1L));
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(null, emitter);
+
+        feed.onPositionChanged(PositionChangedEvent.statusChanged(2L, PositionStatus.CLOSED, 2L));
+
+        List<String> events = emitter.awaitChanges(1);
+        assertTrue(events.get(0).contains("\"type\":\"STATUS_CHANGED\",\"id\":2,\"status\":\"CLOSED\""), events.get(0));
+        assertTrue(events.get(0).contains("-2\n"), events.get(0));
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    @Test
+    void subscribe_ShouldReplayChangesAfterLastEventId() throws InterruptedException {
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe(null, first);
+        feed.onPositionChanged(PositionChangedEvent.deleted(1L));
+        String lastEventId = eventId(first.awaitChanges(1).get(0));
+        feed.onPositionChanged(PositionChangedEvent.deleted(2L));
+        feed.onPositionChanged(PositionChangedEvent.deleted(3L));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe(lastEventId, resumed);
+
+        List<String> events = resumed.awaitChanges(2);
+        assertTrue(events.get(0).contains("\"id\":2"), events.get(0));
+        assertTrue(events.get(1).contains("\"id\":3"), events.get(1));
+        assertFalse(resumed.text().contains("event:reset"));
+    }
+
+    @Test
+    void subscribe_ShouldSendReset_WhenLastEventIdIsNoLongerBuffered() throws InterruptedException {
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe(null, first);
+        feed.onPositionChanged(PositionChangedEvent.deleted(1L));
+        String lastEventId = eventId(first.awaitChanges(1).get(0));
+        for (long id = 2; id <= 5; id++) {
+            feed.onPositionChanged(PositionChangedEvent.deleted(id));
+        }
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe(lastEventId, resumed);
+        resumed.awaitReset();
+        feed.onPositionChanged(PositionChangedEvent.deleted(6L));
+
+        List<String> events = resumed.awaitChanges(1);
+        assertTrue(events.get(0).contains("\"id\":6"), events.get(0));
+    }
+
+    @Test
+    void subscribe_ShouldSendReset_ForAnIdFromAnotherProcess() throws InterruptedException {
+        feed.onPositionChanged(PositionChangedEvent.deleted(1L));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe("0-1", resumed);
+
+        resumed.awaitReset();
+        assertTrue(resumed.changes().isEmpty());
+        assertEquals(1, meterRegistry.get("position.feed.resets").counter().count());
+    }
+
+    private static String eventId(String event) {
+        return event.lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+    }
+
+    /** Collects the wire format of every event instead of writing it to a response. */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(Object::toString)
+                    .collect(Collectors.joining()));
+        }
+
+        String text() {
+            return String.join("", events);
+        }
+
+        List<String> changes() {
+            return events.stream().filter(event -> event.contains("data:{\"type\"")).toList();
+        }
+
+        List<String> awaitChanges(int count) throws InterruptedException {
+            await(() -> changes().size() >= count);
+            return changes();
+        }
+
+        void awaitReset() throws InterruptedException {
+            await(() -> text().contains("event:reset"));
+        }
+
+        private void await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!condition.getAsBoolean()) {
+                assertTrue(System.nanoTime() < deadline, () -> "Timed out, received: " + events);
+                Thread.sleep(10);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.assessment.position.lifecycle;
+
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.service.PositionBulkService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PositionStatusSweeperTest {
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 1);
+
+    private PositionBulkService positionBulkService;
+    private MeterRegistry meterRegistry;
+    private PositionStatusSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        positionBulkService = mock(PositionBulkService.class);
+        when(positionBulkService.transitionClosingBefore(eq(PositionStatus.CLOSED), eq(PositionStatus.ARCHIVED), eq(TODAY.minusDays(30)), anyLong(), eq(2)))
+                .thenReturn(List.of());
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new PositionStatusSweeper(positionBulkService, meterRegistry, 2, Duration.ZERO, Duration.ofDays(30));
+    }
+
+    @Test
+    void sweep_ShouldWalkChunksAfterTheLastMovedId_UntilAShortChunk() {
+        when(positionBulkService.transitionClosingBefore(PositionStatus.OPEN, PositionStatus.CLOSED, TODAY, 0, 2)).thenReturn(List.of(3L, 7L));
+        when(positionBulkService.transitionClosingBefore(PositionStatus.OPEN, PositionStatus.CLOSED, TODAY, 7, 2)).thenReturn(List.of(9L, 12L));
+        when(positionBulkService.transitionClosingBefore(PositionStatus.OPEN, PositionStatus.CLOSED, TODAY, 12, 2)).thenReturn(List.of(15L));
+
+        PositionStatusSweeper.Result result = sweeper.sweep(TODAY);
+
+        assertEquals(new PositionStatusSweeper.Result(5, 0), result);
+        verify(positionBulkService).transitionClosingBefore(PositionStatus.CLOSED, PositionStatus.ARCHIVED, TODAY.minusDays(30), 0, 2);
+        assertEquals(5, meterRegistry.get("position.sweeper.transitions").tag("to", "closed").counter().count());
+        assertEquals(0, meterRegistry.get("position.sweeper.transitions").tag("to", "archived").counter().count());
+        assertEquals(3, meterRegistry.get("position.sweeper.chunks").counter().count());
+        assertEquals(1, meterRegistry.get("position.sweeper.runs").timer().count());
+    }
+
+    @Test
+    void sweep_ShouldStopAfterAFullChunk_WhenNothingIsLeft() {
+        when(positionBulkService.transitionClosingBefore(PositionStatus.OPEN, PositionStatus.CLOSED, TODAY, 0, 2)).thenReturn(List.of(1L, 2L));
+        when(positionBulkService.transitionClosingBefore(PositionStatus.OPEN, PositionStatus.CLOSED, TODAY, 2, 2)).thenReturn(List.of());
+
+        assertEquals(new PositionStatusSweeper.Result(2, 0), sweeper.sweep(TODAY));
+        assertEquals(1, meterRegistry.get("position.sweeper.chunks").counter().count());
+    }
+}
@@ -0,0 +1,80 @@
+package com.assessment.position.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void apiRequest_ShouldRecordStatementCountPerEndpoint() throws Exception {
+        mockMvc.perform(get("/api/positions").header("X-API-KEY", "1234567890"))
+                .andExpect(status().isOk());
+
+        DistributionSummary summary = meterRegistry.find(StatementMetricsInterceptor.METRIC_NAME)
+                .tags("uri", "/api/positions", "method", "GET")
+                .summary();
+        assertNotNull(summary);
+        assertTrue(summary.count() >= 1);
+        assertTrue(summary.max() >= 1);
+    }
+
+    @Test
+    void listRevalidation_ShouldOnlyReadTheListVersion() throws Exception {
+        String etag = mockMvc.perform(get("/api/positions/summary").header("X-API-KEY", "1234567890"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        DistributionSummary summary = meterRegistry.find(StatementMetricsInterceptor.METRIC_NAME)
+                .tags("uri", "/api/positions/summary", "method", "GET")
+                .summary();
+        assertNotNull(summary);
+        long requests = summary.count();
+        double statements = summary.totalAmount();
+
+        mockMvc.perform(get("/api/positions/summary").header("X-API-KEY", "1234567890")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(requests + 1, summary.count());
+        assertEquals(statements + 1, summary.totalAmount());
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldBeScrapeableWithoutApiKey() throws Exception {
+        mockMvc.perform(get("/api/positions").header("X-API-KEY", "1234567890"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("jvm_gc_memory_allocated_bytes_total")))
+                .andExpect(content().string(containsString("api_key_requests_total{key=\"default\",outcome=\"accepted\"")));
+    }
+
+    @Test
+    void metricsEndpoint_ShouldRequireApiKey() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,179 @@
+package com.assessment.position.repository;
+
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.dto.PositionVersion;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionField;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every list query through EXPLAIN and fails if any of them scans the positions table.
+ * Uses its own in-memory H2 database by default; to check MySQL, run against a migrated schema with
+ * {@code SPRING_PROFILES_ACTIVE=prod DB_URL=jdbc:mysql://... mvn test -Dtest=PositionQueryPlanTest}.
+ */
+@DataJpaTest(properties = {"spring.datasource.url=${DB_URL:jdbc:h2:mem:queryplans}", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PositionQueryPlanTest {
+    private static final int ROWS = 1000;
+    private static final QueryPlanRecorder recorder = new QueryPlanRecorder();
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Recruiter recruiter;
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        recruiter = recruiterRepository.findAll().get(0);
+        department = departmentRepository.findAll().get(0);
+        // Enough distinct values that an index is the cheaper plan, as it is in production
+        List<Position> positions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Position position = new Position();
+            position.setTitle("Position " + i);
+            position.setDescription("Description " + i);
+            position.setLocation("City " + i % 50);
+            position.setStatus(PositionStatus.values()[i % PositionStatus.values().length]);
+            position.setRecruiter(recruiter);
+            position.setDepartment(department);
+            position.setBudget(new BigDecimal(40000 + i * 10));
+            position.setClosingDate(LocalDate.of(2030, 1, 1).plusDays(i % 365));
+            positions.add(position);
+        }
+        positionRepository.saveAllAndFlush(positions);
+        recorder.clear();
+    }
+
+    @Test
+    void pagedListQueries_ShouldUseIndexes_ForEverySortFieldAndDirection() throws SQLException {
+        for (PositionSortField sortField : PositionSortField.values()) {
+            for (Sort.Direction direction : directions()) {
+                PageRequest pageRequest = PageRequest.of(2, 20, sortField.toSort(direction));
+                positionRepository.findAllPositionsWithDetails(pageRequest);
+                positionRepository.findAll(PositionSpecifications.withDetails(), pageRequest);
+                positionRepository.findAllSummaries(pageRequest);
+                positionRepository.findFields(List.of(PositionField.ID, PositionField.TITLE, PositionField.DEPARTMENT_NAME), pageRequest);
+            }
+        }
+
+        assertNoFullScans();
+    }
+
+    @Test
+    void filteredListQueries_ShouldUseIndexes_ForEveryFilter() throws SQLException {
+        List<PositionFilter> filters = List.of(
+                new PositionFilter(Set.of(PositionStatus.OPEN), null, null, null, null, null),
+                new PositionFilter(null, Set.of(department.getId()), null, null, null, null),
+                new PositionFilter(null, null, Set.of(recruiter.getId()), null, null, null),
+                new PositionFilter(null, null, null, Set.of("City 7", "City 8"), null, null),
+                new PositionFilter(null, null, null, null, LocalDate.of(2030, 2, 1), LocalDate.of(2030, 2, 7)));
+        for (PositionFilter filter : filters) {
+            positionRepository.findAll(PositionSpecifications.matching(filter).and(PositionSpecifications.withDetails()),
+                    PageRequest.of(0, 20, PositionSortField.TITLE.toSort(Sort.Direction.ASC)));
+        }
+
+        assertNoFullScans();
+    }
+
+    @Test
+    void cursorQueries_ShouldUseIndexes_ForEverySortFieldAndDirection() throws SQLException {
+        for (PositionSortField sortField : PositionSortField.values()) {
+            for (Sort.Direction direction : directions()) {
+                List<Position> first = positionRepository.findPositionsAfter(sortField, direction, null, 20);
+                PositionCursor cursor = PositionCursor.after(first.get(first.size() - 1), sortField, direction);
+                positionRepository.findPositionsAfter(sortField, direction, cursor, 20);
+            }
+        }
+
+        assertNoFullScans();
+    }
+
+    @Test
+    void statusSweeperChunks_ShouldUseIndexes() throws SQLException {
+        List<PositionVersion> first = positionRepository.lockVersionsClosingBefore(PositionStatus.OPEN, LocalDate.of(2030, 6, 1), 0L, Limit.of(20));
+        positionRepository.lockVersionsClosingBefore(PositionStatus.OPEN, LocalDate.of(2030, 6, 1), first.get(first.size() - 1).id(), Limit.of(20));
+
+        assertNoFullScans();
+    }
+
+    @Test
+    void unindexedSort_ShouldBeReportedAsFullScan() throws SQLException {
+        positionRepository.findAllPositionsWithDetails(PageRequest.of(0, 20, Sort.by("description")));
+
+        assertTrue(fullScans().stream().anyMatch(plan -> plan.sql().contains("order by")),
+                "Sorting on the unindexed description column should be flagged");
+    }
+
+    // H2 cannot read an index backwards, so descending order is only checked on databases that can
+    private List<Sort.Direction> directions() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().equals("H2")
+                    ? List.of(Sort.Direction.ASC)
+                    : List.of(Sort.Direction.values());
+        }
+    }
+
+    private void assertNoFullScans() throws SQLException {
+        assertFalse(recorder.queries().isEmpty());
+        List<QueryPlanRecorder.QueryPlan> fullScans = fullScans();
+        assertTrue(fullScans.isEmpty(), () -> fullScans.stream()
+                .map(plan -> plan.sql() + "\n  -> " + plan.plan())
+                .collect(Collectors.joining("\n", "Queries scanning a whole table:\n", "")));
+    }
+
+    private List<QueryPlanRecorder.QueryPlan> fullScans() throws SQLException {
+        return recorder.explain(dataSource).stream()
+                .filter(QueryPlanRecorder.QueryPlan::fullScan)
+                .toList();
+    }
+}
@@ -0,0 +1,199 @@
+package com.assessment.position.repository;
+
+import com.assessment.position.dto.PositionAggregateRow;
+import com.assessment.position.dto.PositionContribution;
+import com.assessment.position.dto.PositionCursor;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.dto.PositionSummary;
+import com.assessment.position.dto.PositionVersion;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionField;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class PositionRepositoryTest {
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        Recruiter recruiter = recruiterRepository.findAll().get(0);
+        Department department = departmentRepository.findAll().get(0);
+        String[] titles = {"Analyst", "Engineer", "Engineer", "Designer", "Manager", "Analyst", "Tester"};
+        String[] locations = {"Remote", "Madrid", "Bogota", "Remote", "Lima", "Madrid", "Remote"};
+        for (int i = 0; i < titles.length; i++) {
+            Position position = new Position();
+            position.setTitle(titles[i]);
+            position.setDescription("Description " + i);
+            position.setLocation(locations[i]);
+            position.setStatus(PositionStatus.values()[i % PositionStatus.values().length]);
+            position.setRecruiter(recruiter);
+            position.setDepartment(department);
+            position.setBudget(new BigDecimal(50000 + (i % 3) * 10000));
+            position.setClosingDate(i % 2 == 0 ? null : LocalDate.of(2030, 1, 1 + (i % 3)));
+            positionRepository.save(position);
+        }
+        positionRepository.flush();
+    }
+
+    @Test
+    void findPositionsAfter_ShouldWalkSameOrderAsOffsetPaging_ForEverySortField() {
+        for (PositionSortField sortField : PositionSortField.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                Sort sort = sortField == PositionSortField.ID
+                        ? Sort.by(direction, "id")
+                        : Sort.by(direction, sortField.getProperty()).and(Sort.by(direction, "id"));
+                List<Long> expected = positionRepository.findAllPositionsWithDetails(PageRequest.of(0, 100, sort))
+                        .map(Position::getId)
+                        .getContent();
+
+                List<Long> actual = new ArrayList<>();
+                PositionCursor cursor = null;
+                List<Position> page;
+                do {
+                    page = positionRepository.findPositionsAfter(sortField, direction, cursor, 2);
+                    page.forEach(position -> actual.add(position.getId()));
+                    if (!page.isEmpty()) {
+                        cursor = PositionCursor.decode(
+                                PositionCursor.after(page.get(page.size() - 1), sortField, direction).encode());
+                    }
+                } while (page.size() == 2);
+
+                assertEquals(expected, actual, sortField + " " + direction);
+            }
+        }
+    }
+
+    @Test
+    void findAllSummaries_ShouldProjectListColumns() {
+        Page<PositionSummary> page = positionRepository.findAllSummaries(PageRequest.of(0, 3, Sort.by("title", "id")));
+
+        assertEquals(7, page.getTotalElements());
+        assertEquals(3, page.getContent().size());
+        PositionSummary first = page.getContent().get(0);
+        assertEquals("Analyst", first.title());
+        assertEquals("Remote", first.location());
+        assertEquals(departmentRepository.findAll().get(0).getName(), first.departmentName());
+    }
+
+    @Test
+    void findFields_ShouldReturnOnlyRequestedFields() {
+        Page<Map<String, Object>> page = positionRepository.findFields(
+                PositionField.parse("title,departmentName,recruiterId"), PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "title")));
+
+        assertEquals(7, page.getTotalElements());
+        Map<String, Object> row = page.getContent().get(0);
+        assertEquals(List.of("id", "title", "departmentName", "recruiterId"), List.copyOf(row.keySet()));
+        assertEquals("Tester", row.get("title"));
+        assertEquals(departmentRepository.findAll().get(0).getName(), row.get("departmentName"));
+        assertEquals(recruiterRepository.findAll().get(0).getId(), row.get("recruiterId"));
+    }
+
+    @Test
+    void parseFields_WithUnknownField_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> PositionField.parse("title,salary"));
+    }
+
+    @Test
+    void updateState_ShouldOnlyMatchExpectedVersion() {
+        Position position = positionRepository.findAll().get(0);
+        Long id = position.getId();
+        assertEquals(0L, position.getVersion());
+
+        assertEquals(1, positionRepository.updateState(id, position, 0L));
+        assertEquals(0, positionRepository.updateState(id, position, 0L));
+        assertEquals(Optional.of(1L), positionRepository.findVersionById(id));
+    }
+
+    @Test
+    void patchState_ShouldOnlyMatchExpectedVersion() {
+        Long id = positionRepository.findAll().get(0).getId();
+
+        assertEquals(1, positionRepository.patchState(id, Map.of("location", "Quito"), 0L));
+        assertEquals(0, positionRepository.patchState(id, Map.of("location", "Lima"), 0L));
+        assertEquals(Optional.of(1L), positionRepository.findVersionById(id));
+    }
+
+    @Test
+    void lockVersionsInStatus_ThenUpdateStatus_ShouldOnlyMoveMatchingPositions() {
+        List<Long> ids = positionRepository.findAll().stream().map(Position::getId).toList();
+
+        List<PositionVersion> drafts = positionRepository.lockVersionsInStatus(ids, List.of(PositionStatus.DRAFT));
+        assertFalse(drafts.isEmpty());
+        assertEquals(drafts.size(), positionRepository.updateStatus(drafts.stream().map(PositionVersion::id).toList(), PositionStatus.OPEN));
+        assertTrue(positionRepository.lockVersionsInStatus(ids, List.of(PositionStatus.DRAFT)).isEmpty());
+        assertEquals(Optional.of(drafts.get(0).version() + 1), positionRepository.findVersionById(drafts.get(0).id()));
+    }
+
+    @Test
+    void lockVersionsClosingBefore_ShouldReturnExpiredIdsInKeysetOrder() {
+        List<Long> open = positionRepository.findAll(Sort.by("id")).stream()
+                .filter(position -> position.getStatus() == PositionStatus.OPEN)
+                .map(Position::getId)
+                .toList();
+
+        assertEquals(open.subList(0, 1), lockOpenIdsClosingBefore(LocalDate.of(2030, 1, 3), 0L, 10));
+        assertEquals(open.subList(0, 1), lockOpenIdsClosingBefore(LocalDate.of(2030, 1, 4), 0L, 1));
+        assertEquals(open.subList(1, 2), lockOpenIdsClosingBefore(LocalDate.of(2030, 1, 4), open.get(0), 1));
+    }
+
+    @Test
+    void aggregateBudgets_ShouldMatchSumOfContributions() {
+        List<PositionAggregateRow> rows = positionRepository.aggregateBudgets();
+        List<PositionContribution> contributions = positionRepository.findContributions();
+
+        assertEquals(contributions.size(), rows.stream().mapToLong(PositionAggregateRow::headcount).sum());
+        assertEquals(0, contributions.stream().map(PositionContribution::budget).reduce(BigDecimal.ZERO, BigDecimal::add)
+                .compareTo(rows.stream().map(PositionAggregateRow::budget).reduce(BigDecimal.ZERO, BigDecimal::add)));
+        assertEquals(PositionStatus.values().length, rows.size());
+    }
+
+    @Test
+    void findAll_WithFilterSpecification_ShouldApplyEveryDimension() {
+        Long departmentId = departmentRepository.findAll().get(0).getId();
+        PositionFilter filter = new PositionFilter(Set.of(PositionStatus.OPEN, PositionStatus.ARCHIVED), Set.of(departmentId),
+                null, Set.of("Madrid", "Remote"), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 2));
+
+        Page<Position> result = positionRepository.findAll(PositionSpecifications.matching(filter),
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(List.of("Madrid", "Remote"), result.map(Position::getLocation).getContent());
+        assertTrue(result.getContent().stream().allMatch(p -> filter.statuses().contains(p.getStatus())));
+        assertEquals(0, positionRepository.findAll(PositionSpecifications.matching(
+                new PositionFilter(null, Set.of(-1L), null, null, null, null)), PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private List<Long> lockOpenIdsClosingBefore(LocalDate before, Long afterId, int limit) {
+        return positionRepository.lockVersionsClosingBefore(PositionStatus.OPEN, before, afterId, Limit.of(limit)).stream()
+                .map(PositionVersion::id)
+                .toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.assessment.position.repository;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SELECT issued through a wrapped {@link DataSource} together with its bound
+ * parameters, so tests can run the exact statements Hibernate generated through EXPLAIN.
+ * Plans are read the H2 way ({@code tableScan} in the plan text) or the MySQL way
+ * ({@code type = ALL} on any row).
+ */
+class QueryPlanRecorder {
+
+    record RecordedQuery(String sql, Map<Integer, Object> parameters) {
+    }
+
+    record QueryPlan(String sql, String plan, boolean fullScan) {
+    }
+
+    private final List<RecordedQuery> queries = new CopyOnWriteArrayList<>();
+
+    DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    void clear() {
+        queries.clear();
+    }
+
+    List<RecordedQuery> queries() {
+        return List.copyOf(queries);
+    }
+
+    /**
+     * Runs EXPLAIN for every recorded query on the connection bound to the current transaction,
+     * so rows inserted by the test are visible to the optimizer.
+     */
+    List<QueryPlan> explain(DataSource dataSource) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+            List<QueryPlan> plans = new ArrayList<>();
+            for (RecordedQuery query : queries) {
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+                    for (Map.Entry<Integer, Object> parameter : query.parameters().entrySet()) {
+                        statement.setObject(parameter.getKey(), parameter.getValue());
+                    }
+                    try (ResultSet rows = statement.executeQuery()) {
+                        plans.add(mysql ? mysqlPlan(query.sql(), rows) : h2Plan(query.sql(), rows));
+                    }
+                }
+            }
+            return plans;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static QueryPlan h2Plan(String sql, ResultSet rows) throws SQLException {
+        rows.next();
+        String plan = rows.getString(1);
+        return new QueryPlan(sql, plan, plan.contains(".tableScan"));
+    }
+
+    private static QueryPlan mysqlPlan(String sql, ResultSet rows) throws SQLException {
+        ResultSetMetaData metaData = rows.getMetaData();
+        StringBuilder plan = new StringBuilder();
+        boolean fullScan = false;
+        while (rows.next()) {
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                plan.append(metaData.getColumnLabel(column)).append('=').append(rows.getString(column)).append(' ');
+            }
+            plan.append('\n');
+            fullScan |= "ALL".equals(rows.getString("type"));
+        }
+        return new QueryPlan(sql, plan.toString(), fullScan);
+    }
+
+    private Connection wrap(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("prepareStatement") && args[0] instanceof String sql
+                    && sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                return wrap((PreparedStatement) result, sql);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("setNull")) {
+                parameters.put((Integer) args[0], null);
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, args[1]);
+            } else if (name.equals("executeQuery") || name.equals("execute")) {
+                queries.add(new RecordedQuery(sql, new TreeMap<>(parameters)));
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryPlanRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.assessment.position.routing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica. The replica only gets the
+ * schema, so a read served by it does not see anything written through the application.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "application.datasource.replica-urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'",
+        "application.datasource.max-replica-lag=500ms",
+        "application.security.api-keys=reader:ec4408df15da46b328f6f3246fa723d0aa6cb0f0a0dd9c4626080ab1b02aa3b2",
+        "application.sweeper.enabled=false",
+        "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+    private static final String WRITER_KEY = "1234567890";
+    private static final String READER_KEY = "reader-key";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void transactions_ShouldBeRoutedByReadOnlyFlag() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertEquals("ROUTING-REPLICA", readOnly.execute(tx -> currentDatabase()));
+        assertEquals("ROUTING-PRIMARY", readWrite.execute(tx -> currentDatabase()));
+        assertEquals("ROUTING-PRIMARY", currentDatabase());
+    }
+
+    @Test
+    void reads_ShouldStayOnPrimary_ForTheWritingClientUntilTheLagWindowPasses() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(post("/api/positions")
+                        .header("X-API-KEY", WRITER_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Routing test", "description": "Replica routing", "location": "Madrid",
+                                 "status": "OPEN", "recruiter": {"id": 1}, "department": {"id": 1},
+                                 "budget": 50000, "closingDate": "2031-01-01"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        JsonNode position = objectMapper.readTree(response.getContentAsString());
+        String url = "/api/positions/" + position.get("id").asLong();
+        Cookie client = response.getCookie("client_id");
+
+        mockMvc.perform(get(url).header("X-API-KEY", WRITER_KEY).cookie(client)).andExpect(status().isOk());
+        // Another browser using the same key is a different client
+        mockMvc.perform(get(url).header("X-API-KEY", WRITER_KEY)).andExpect(status().isNotFound());
+        mockMvc.perform(get(url).header("X-API-KEY", READER_KEY)).andExpect(status().isNotFound());
+
+        Thread.sleep(600);
+        mockMvc.perform(get(url).header("X-API-KEY", WRITER_KEY).cookie(client)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void writes_ShouldCheckIfMatchOnThePrimary_ForAClientThatHasNotWritten() throws Exception {
+        JsonNode position = objectMapper.readTree(mockMvc.perform(post("/api/positions")
+                        .header("X-API-KEY", WRITER_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Conditional patch", "description": "Replica routing", "location": "Madrid",
+                                 "status": "OPEN", "recruiter": {"id": 1}, "department": {"id": 1},
+                                 "budget": 50000, "closingDate": "2031-01-01"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+
+        // The replica has no copy of the position, so any lookup served by it would answer 404 or 412
+        mockMvc.perform(patch("/api/positions/" + position.get("id").asLong())
+                        .header("X-API-KEY", READER_KEY)
+                        .header(HttpHeaders.IF_MATCH, "\"" + position.get("version").asLong() + "\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"location\": \"Lima\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+}
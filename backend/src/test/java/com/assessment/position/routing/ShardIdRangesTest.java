@@ -0,0 +1,52 @@
+package com.assessment.position.routing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardIdRangesTest {
+
+    @Test
+    void check_ShouldFail_UntilTheShardSequenceIsMovedIntoItsRange() {
+        DataSource first = database("ranges-sequence-0", "CREATE SEQUENCE positions_seq START WITH 1 INCREMENT BY 50");
+        DataSource second = database("ranges-sequence-1", "CREATE SEQUENCE positions_seq START WITH 1 INCREMENT BY 50");
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> ShardIdRanges.check(List.of(first, second)));
+        assertTrue(error.getMessage().startsWith("Shard 1 would allocate position ids"), error.getMessage());
+
+        ShardIdRanges.startAt(second, 1);
+        assertDoesNotThrow(() -> ShardIdRanges.check(List.of(first, second)));
+    }
+
+    // MySQL has no sequences; Hibernate keeps the next value in a table of the same name
+    @Test
+    void check_ShouldReadTheSequenceTable_AndRejectRowsOutsideTheRange() {
+        DataSource first = database("ranges-table-0", "CREATE TABLE positions_seq (next_val BIGINT)",
+                "INSERT INTO positions_seq VALUES (1)");
+        DataSource second = database("ranges-table-1", "CREATE TABLE positions_seq (next_val BIGINT)",
+                "INSERT INTO positions_seq VALUES (1)");
+
+        assertThrows(IllegalStateException.class, () -> ShardIdRanges.check(List.of(first, second)));
+        ShardIdRanges.startAt(second, 1);
+        assertDoesNotThrow(() -> ShardIdRanges.check(List.of(first, second)));
+
+        new JdbcTemplate(second).update("INSERT INTO positions (id) VALUES (7)");
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> ShardIdRanges.check(List.of(first, second)));
+        assertTrue(error.getMessage().contains("holds position ids 7"), error.getMessage());
+    }
+
+    private static DataSource database(String name, String... sequence) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE positions (id BIGINT PRIMARY KEY)");
+        for (String statement : sequence) {
+            jdbcTemplate.execute(statement);
+        }
+        return dataSource;
+    }
+}
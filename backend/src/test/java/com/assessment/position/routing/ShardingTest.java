@@ -0,0 +1,191 @@
+package com.assessment.position.routing;
+
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.service.PositionBulkService;
+import com.assessment.position.service.PositionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Three in-memory H2 databases as shards; with seven departments, shard 0 holds departments 3 and 6,
+ * shard 1 holds 1, 4 and 7, and shard 2 holds 2 and 5.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard-0",
+        "application.sharding.shard-urls=jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard-2;DB_CLOSE_DELAY=-1",
+        "application.sweeper.enabled=false",
+        "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class ShardingTest {
+
+    @Autowired
+    private PositionService positionService;
+
+    @Autowired
+    private PositionBulkService positionBulkService;
+
+    @Autowired
+    private PositionShards positionShards;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void createPosition_ShouldStoreOnTheDepartmentShard_WithIdsFromTheShardRange() {
+        List<Position> created = new ArrayList<>();
+        for (long departmentId = 1; departmentId <= 7; departmentId++) {
+            created.add(positionService.createPosition(position("Placement " + departmentId, departmentId, 1000)));
+        }
+
+        for (Position position : created) {
+            int shard = positionShards.ofDepartment(position.getDepartment().getId());
+            assertEquals(shard, positionShards.ofPosition(position.getId()), String.valueOf(position.getId()));
+            assertEquals(1, countOn(shard, position.getId()));
+            assertEquals(position.getTitle(), positionService.getPosition(position.getId()).getTitle());
+        }
+        assertEquals(3, positionShards.count());
+        assertTrue(created.get(0).getId() >= PositionShards.ID_RANGE);
+        assertTrue(created.get(2).getId() < PositionShards.ID_RANGE);
+    }
+
+    @Test
+    void getAllPositions_ShouldMergeShardPagesInSortOrder() {
+        for (int i = 0; i < 30; i++) {
+            positionService.createPosition(position("Merge " + i, 1 + i % 7, 2000 + (i * 37) % 11));
+        }
+        Sort sort = PositionSortField.BUDGET.toSort(Sort.Direction.DESC);
+        List<Position> everything = positionService.getAllPositions(PageRequest.of(0, 1000, sort)).getContent();
+        List<Position> expected = everything.stream().sorted(PositionSortField.comparator(sort, positionShards.textOrder())).toList();
+
+        assertEquals(expected.stream().map(Position::getId).toList(), everything.stream().map(Position::getId).toList());
+        Page<Position> second = positionService.getAllPositions(PageRequest.of(1, 7, sort));
+        assertEquals(everything.size(), second.getTotalElements());
+        assertEquals(expected.subList(7, 14).stream().map(Position::getId).toList(),
+                second.getContent().stream().map(Position::getId).toList());
+    }
+
+    @Test
+    void getAllPositions_ShouldRejectPagesPastTheMaxOffset() throws Exception {
+        mockMvc.perform(get("/api/positions")
+                        .header("X-API-KEY", "1234567890")
+                        .param("page", "1001")
+                        .param("size", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/positions")
+                        .header("X-API-KEY", "1234567890")
+                        .param("page", "1000")
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getListEtag_ShouldChange_WhenAnyShardIsWritten() {
+        String initial = positionService.getListEtag().orElseThrow();
+        positionService.createPosition(position("Tagged", 1, 5000));
+        String afterShard1 = positionService.getListEtag().orElseThrow();
+        positionService.createPosition(position("Tagged", 2, 5000));
+
+        assertNotEquals(initial, afterShard1);
+        assertNotEquals(afterShard1, positionService.getListEtag().orElseThrow());
+    }
+
+    @Test
+    void getPositions_ShouldOnlyReturnTheFilteredDepartments() {
+        positionService.createPosition(position("Filter", 4, 3000));
+        positionService.createPosition(position("Filter", 5, 3000));
+
+        PositionFilter filter = new PositionFilter(null, Set.of(4L), null, null, null, null);
+        Page<Position> page = positionService.getPositions(filter, PageRequest.of(0, 1000));
+
+        assertFalse(page.isEmpty());
+        assertTrue(page.getContent().stream().allMatch(position -> position.getDepartment().getId() == 4L));
+    }
+
+    @Test
+    void patchPosition_ShouldRejectMovingToADepartmentOnAnotherShard() throws Exception {
+        Position position = positionService.createPosition(position("Move", 1, 4000));
+
+        mockMvc.perform(patch("/api/positions/" + position.getId())
+                        .header("X-API-KEY", "1234567890")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"department\": {\"id\": 2}}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/positions/" + position.getId())
+                        .header("X-API-KEY", "1234567890")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"department\": {\"id\": 4}}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void createPositions_ShouldKeepCommittedShards_WhenAnotherShardRollsBack() {
+        // DECIMAL(19,2) cannot hold this budget, so the insert on department 2's shard fails
+        List<Position> positions = List.of(position("Bulk kept", 1, 5000), position("Bulk overflow", 2, 5000),
+                position("Bulk sibling", 2, 5000));
+        positions.get(1).setBudget(new BigDecimal("1e20"));
+
+        BulkResponse response = positionBulkService.createPositions(positions);
+
+        assertEquals(BulkItemResult.Status.CREATED, response.results().get(0).status());
+        assertEquals(BulkItemResult.Status.ROLLED_BACK, response.results().get(1).status());
+        assertEquals(BulkItemResult.Status.ROLLED_BACK, response.results().get(2).status());
+        assertEquals(1, countOn(1, response.results().get(0).id()));
+        assertEquals(0, countTitledOn(2, "Bulk sibling"));
+    }
+
+    private int countTitledOn(int shard, String title) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource.getShards().get(shard));
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM positions WHERE title = ?", Integer.class, title);
+        return count != null ? count : 0;
+    }
+
+    private int countOn(int shard, Long id) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource.getShards().get(shard));
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM positions WHERE id = ?", Integer.class, id);
+        return count != null ? count : 0;
+    }
+
+    private static Position position(String title, long departmentId, int budget) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+        Department department = new Department();
+        department.setId(departmentId);
+        Position position = new Position();
+        position.setTitle(title);
+        position.setDescription("Sharding test");
+        position.setLocation("Madrid");
+        position.setStatus(PositionStatus.OPEN);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setBudget(new BigDecimal(budget));
+        return position;
+    }
+}
@@ -0,0 +1,60 @@
+package com.assessment.position.routing;
+
+import com.assessment.position.model.PositionSortField;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Merges title-ordered rows from two case-insensitive H2 databases, standing in for MySQL shards,
+ * and compares the result with one database holding every row.
+ */
+class TextCollationTest {
+    private static final List<String> TITLES = List.of("apple", "Banana", "cherry", "Date", "elderberry", "Fig", "grape", "Honeydew");
+
+    @Test
+    void merge_ShouldMatchTheDatabaseOrder_OnlyWithTheSameCollation() {
+        JdbcTemplate whole = database("collation-whole");
+        List<JdbcTemplate> shards = List.of(database("collation-0"), database("collation-1"));
+        for (int i = 0; i < TITLES.size(); i++) {
+            insert(whole, i, TITLES.get(i));
+            insert(shards.get(i % 2), i, TITLES.get(i));
+        }
+        List<Long> expected = ids(titleOrdered(whole));
+        List<List<Map<String, Object>>> parts = new ArrayList<>();
+        shards.forEach(shard -> parts.add(titleOrdered(shard)));
+
+        assertEquals(expected, ids(merge(parts, TextCollation.CASE_INSENSITIVE)));
+        assertNotEquals(expected, ids(merge(parts, TextCollation.BINARY)));
+    }
+
+    private static List<Map<String, Object>> merge(List<List<Map<String, Object>>> parts, TextCollation collation) {
+        return PositionShards.merge(parts, PositionSortField.TITLE.rowComparator(Sort.Direction.ASC, collation.comparator()),
+                0, TITLES.size());
+    }
+
+    private static List<Map<String, Object>> titleOrdered(JdbcTemplate database) {
+        return database.queryForList("SELECT id, title FROM positions ORDER BY title, id");
+    }
+
+    private static List<Long> ids(List<Map<String, Object>> rows) {
+        return rows.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+    }
+
+    private static void insert(JdbcTemplate database, long id, String title) {
+        database.update("INSERT INTO positions (id, title) VALUES (?, ?)", id, title);
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcTemplate database = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";IGNORECASE=TRUE;DB_CLOSE_DELAY=-1"));
+        database.execute("CREATE TABLE positions (id BIGINT PRIMARY KEY, title VARCHAR(255))");
+        return database;
+    }
+}
@@ -0,0 +1,114 @@
+package com.assessment.position.search;
+
+import com.assessment.position.dto.FacetCount;
+import com.assessment.position.dto.PositionFacets;
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import com.assessment.position.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PositionFacetIndexTest {
+
+    private PositionFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        when(positionRepository.findPositionsAfter(any(), any(), isNull(), anyInt())).thenReturn(List.of(
+                position(1L, PositionStatus.OPEN, 1L, "Remote", LocalDate.of(2030, 1, 10)),
+                position(2L, PositionStatus.OPEN, 2L, "Madrid", LocalDate.of(2030, 2, 10)),
+                position(3L, PositionStatus.DRAFT, 1L, "Remote", null),
+                position(4L, PositionStatus.CLOSED, 1L, "Madrid", LocalDate.of(2030, 3, 10))));
+
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        Department engineering = new Department();
+        engineering.setId(1L);
+        engineering.setName("Engineering");
+        when(referenceDataService.findDepartments(any())).thenReturn(Map.of(1L, engineering));
+        when(referenceDataService.findRecruiters(any())).thenReturn(Map.of());
+
+        index = new PositionFacetIndex(positionRepository, referenceDataService);
+        index.rebuild();
+    }
+
+    @Test
+    void facets_WithoutFilter_ShouldCountEveryPosition() {
+        PositionFacets facets = index.facets(PositionFilter.NONE);
+
+        assertEquals(List.of(new FacetCount("DRAFT", null, 1), new FacetCount("OPEN", null, 2),
+                new FacetCount("CLOSED", null, 1)), facets.status());
+        assertEquals(List.of(new FacetCount("1", "Engineering", 3), new FacetCount("2", null, 1)), facets.department());
+        assertEquals(List.of(new FacetCount("Madrid", null, 2), new FacetCount("Remote", null, 2)), facets.location());
+    }
+
+    @Test
+    void facets_ShouldApplyEveryFilterExceptTheFacetsOwn() {
+        PositionFacets facets = index.facets(new PositionFilter(Set.of(PositionStatus.OPEN), null, null,
+                Set.of("Remote"), null, null));
+
+        // Status counts ignore the status filter but honour the location filter
+        assertEquals(List.of(new FacetCount("DRAFT", null, 1), new FacetCount("OPEN", null, 1),
+                new FacetCount("CLOSED", null, 0)), facets.status());
+        assertEquals(List.of(new FacetCount("Madrid", null, 1), new FacetCount("Remote", null, 1)), facets.location());
+        assertEquals(List.of(new FacetCount("1", "Engineering", 1), new FacetCount("2", null, 0)), facets.department());
+    }
+
+    @Test
+    void facets_WithClosingDateRange_ShouldExcludePositionsWithoutClosingDate() {
+        PositionFacets facets = index.facets(new PositionFilter(null, null, null, null, LocalDate.of(2030, 2, 1), null));
+
+        assertEquals(List.of(new FacetCount("DRAFT", null, 0), new FacetCount("OPEN", null, 1),
+                new FacetCount("CLOSED", null, 1)), facets.status());
+    }
+
+    @Test
+    void onPositionChanged_ShouldMoveBitsAndReuseOrdinals() {
+        index.onPositionChanged(PositionChangedEvent.deleted(2L));
+        index.onPositionChanged(PositionChangedEvent.statusChanged(3L, PositionStatus.OPEN, 2L));
+        index.onPositionChanged(PositionChangedEvent.created(position(5L, PositionStatus.DRAFT, 3L, "Lima", null)));
+        index.onPositionChanged(PositionChangedEvent.updated(position(1L, PositionStatus.OPEN, 1L, "Lima", null)));
+
+        PositionFacets facets = index.facets(PositionFilter.NONE);
+        assertEquals(4, index.size());
+        assertEquals(List.of(new FacetCount("DRAFT", null, 1), new FacetCount("OPEN", null, 2),
+                new FacetCount("CLOSED", null, 1)), facets.status());
+        assertEquals(List.of(new FacetCount("1", "Engineering", 3), new FacetCount("3", null, 1)), facets.department());
+        assertEquals(List.of(new FacetCount("Lima", null, 2), new FacetCount("Madrid", null, 1),
+                new FacetCount("Remote", null, 1)), facets.location());
+    }
+
+    private static Position position(Long id, PositionStatus status, Long departmentId, String location, LocalDate closingDate) {
+        Department department = new Department();
+        department.setId(departmentId);
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+
+        Position position = new Position();
+        position.setId(id);
+        position.setTitle("Position " + id);
+        position.setStatus(status);
+        position.setDepartment(department);
+        position.setRecruiter(recruiter);
+        position.setLocation(location);
+        position.setClosingDate(closingDate);
+        return position;
+    }
+}
@@ -0,0 +1,101 @@
+package com.assessment.position.search;
+
+import com.assessment.position.dto.PositionSearchHit;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.repository.PositionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PositionSearchIndexTest {
+
+    private PositionRepository positionRepository;
+    private PositionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        positionRepository = mock(PositionRepository.class);
+        when(positionRepository.findPositionsAfter(any(), any(), isNull(), anyInt())).thenReturn(List.of(
+                position(1L, "Java Developer", "Remote", "Backend services in Java and Spring"),
+                position(2L, "Frontend Engineer", "Bogotá", "React and TypeScript, some Java"),
+                position(3L, "Data Analyst", "Madrid", "SQL reporting")));
+        index = new PositionSearchIndex(positionRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        Page<PositionSearchHit> result = index.search("java", PageRequest.of(0, 10));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(1L, 2L), result.map(PositionSearchHit::id).getContent());
+    }
+
+    @Test
+    void search_ShouldRequireEveryTermAndMatchLastTermAsPrefix() {
+        assertEquals(List.of(2L), index.search("java bog", PageRequest.of(0, 10)).map(PositionSearchHit::id).getContent());
+        assertEquals(List.of(2L), index.search("BOGOTA", PageRequest.of(0, 10)).map(PositionSearchHit::id).getContent());
+        assertTrue(index.search("java madrid", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void onPositionChanged_ShouldUpdateAndRemoveDocuments() {
+        index.onPositionChanged(PositionChangedEvent.updated(position(3L, "Data Engineer", "Madrid", "Spark pipelines")));
+        index.onPositionChanged(PositionChangedEvent.deleted(1L));
+
+        assertTrue(index.search("analyst", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(2L, 3L), index.search("engineer", PageRequest.of(0, 10)).map(PositionSearchHit::id).getContent());
+        assertEquals(List.of(2L), index.search("java", PageRequest.of(0, 10)).map(PositionSearchHit::id).getContent());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void onPositionChanged_WithStatusChange_ShouldKeepDocumentText() {
+        index.onPositionChanged(PositionChangedEvent.statusChanged(1L, PositionStatus.CLOSED, 2L));
+        index.onPositionChanged(PositionChangedEvent.statusChanged(99L, PositionStatus.CLOSED, 2L));
+
+        PositionSearchHit hit = index.search("java", PageRequest.of(0, 10)).getContent().get(0);
+        assertEquals(1L, hit.id());
+        assertEquals("Java Developer", hit.title());
+        assertEquals(PositionStatus.CLOSED, hit.status());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void search_ShouldPageResults() {
+        Page<PositionSearchHit> result = index.search("java", PageRequest.of(1, 1));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(2L), result.map(PositionSearchHit::id).getContent());
+    }
+
+    private static Position position(Long id, String title, String location, String description) {
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("Engineering");
+
+        Position position = new Position();
+        position.setId(id);
+        position.setTitle(title);
+        position.setLocation(location);
+        position.setDescription(description);
+        position.setStatus(PositionStatus.OPEN);
+        position.setDepartment(department);
+        position.setBudget(BigDecimal.TEN);
+        return position;
+    }
+}
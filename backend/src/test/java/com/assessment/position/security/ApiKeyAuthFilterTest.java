@@ -0,0 +1,139 @@
+package com.assessment.position.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyAuthFilterTest {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithHashedKey_ShouldAuthenticateAsNamedClient() throws Exception {
+        String digest = HexFormat.of().formatHex(ApiKeyRegistry.digest("reporting-secret"));
+        ApiKeyAuthFilter filter = new ApiKeyAuthFilter(ApiKeyRegistry.parse(null, "reporting:" + digest,
+                ApiKeyRegistry.Limits.NONE));
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("reporting-secret"), response,
+                (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("reporting", seen.get().getPrincipal());
+        assertEquals(401, filter(filter, "1234567890").getStatus());
+        assertEquals(401, filter(filter, null).getStatus());
+    }
+
+    @Test
+    void doFilter_OverRateLimit_ShouldRejectWithRetryAfter() throws Exception {
+        ApiKeyRegistry registry = named("secret", new ApiKeyRegistry.Limits(0.5, 2, 0));
+        ApiKeyAuthFilter filter = new ApiKeyAuthFilter(registry);
+
+        assertEquals(200, filter(filter, "secret").getStatus());
+        assertEquals(200, filter(filter, "secret").getStatus());
+        MockHttpServletResponse rejected = filter(filter, "secret");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        ApiClient client = registry.getClients().get(0);
+        assertEquals(2, client.getCount(ApiClient.Outcome.ACCEPTED));
+        assertEquals(1, client.getCount(ApiClient.Outcome.RATE_LIMITED));
+    }
+
+    @Test
+    void doFilter_OverConcurrencyQuota_ShouldRejectUntilRequestCompletes() throws Exception {
+        ApiKeyRegistry registry = named("secret", new ApiKeyRegistry.Limits(0, 1, 1));
+        ApiKeyAuthFilter filter = new ApiKeyAuthFilter(registry);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request("secret"), outer, (req, res) -> nested.set(filter(filter, "secret")));
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(429, nested.get().getStatus());
+        assertEquals(0, registry.getClients().get(0).getInFlight());
+        assertEquals(200, filter(filter, "secret").getStatus());
+    }
+
+    @Test
+    void doFilter_RejectedForConcurrency_ShouldNotSpendARateToken() throws Exception {
+        ApiKeyRegistry registry = named("secret", new ApiKeyRegistry.Limits(0.001, 2, 1));
+        ApiKeyAuthFilter filter = new ApiKeyAuthFilter(registry);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        filter.doFilter(request("secret"), new MockHttpServletResponse(), (req, res) -> nested.set(filter(filter, "secret")));
+
+        assertEquals(429, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader("Retry-After"));
+        assertEquals(200, filter(filter, "secret").getStatus());
+        MockHttpServletResponse rejected = filter(filter, "secret");
+        assertEquals(429, rejected.getStatus());
+        // The next token is about 1000 seconds away at 0.001 requests per second
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) > 990, rejected.getHeader("Retry-After"));
+    }
+
+    @Test
+    void parse_ShouldNotLimitTheLegacyKey() throws Exception {
+        ApiKeyRegistry registry = ApiKeyRegistry.parse("secret", null, new ApiKeyRegistry.Limits(0.5, 1, 1));
+        ApiKeyAuthFilter filter = new ApiKeyAuthFilter(registry);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, filter(filter, "secret").getStatus());
+        }
+    }
+
+    @Test
+    void bindTo_ShouldExposePerKeyCounters() throws Exception {
+        ApiKeyRegistry registry = ApiKeyRegistry.parse("secret", null, ApiKeyRegistry.Limits.NONE);
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        registry.bindTo(meters);
+
+        filter(new ApiKeyAuthFilter(registry), "secret");
+
+        assertEquals(1.0, meters.get(ApiKeyRegistry.REQUESTS_METRIC)
+                .tags("key", "default", "outcome", "accepted").functionCounter().count());
+        assertEquals(0.0, meters.get(ApiKeyRegistry.IN_FLIGHT_METRIC).tag("key", "default").gauge().value());
+    }
+
+    @Test
+    void parse_WithMalformedEntry_ShouldFail() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ApiKeyRegistry.parse(null, "crm:not-a-digest", ApiKeyRegistry.Limits.NONE));
+        assertThrows(IllegalStateException.class, () -> ApiKeyRegistry.parse("", "", ApiKeyRegistry.Limits.NONE));
+    }
+
+    private static ApiKeyRegistry named(String secret, ApiKeyRegistry.Limits limits) {
+        return ApiKeyRegistry.parse(null, "client:" + HexFormat.of().formatHex(ApiKeyRegistry.digest(secret)), limits);
+    }
+
+    private static MockHttpServletResponse filter(ApiKeyAuthFilter filter, String apiKey) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(apiKey), response, NO_OP_CHAIN);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/positions");
+        if (apiKey != null) {
+            request.addHeader("X-API-KEY", apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,60 @@
+package com.assessment.position.service;
+
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"application.sweeper.enabled=false", "spring.jpa.show-sql=false"})
+class PositionBulkServiceTest {
+
+    @Autowired
+    private PositionBulkService positionBulkService;
+
+    @Autowired
+    private PositionService positionService;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Test
+    void updatePositions_ShouldRejectRepeatedId() {
+        Position position = positionService.createPosition(position("Bulk duplicate"));
+        position.setTitle("Updated once");
+
+        BulkResponse response = positionBulkService.updatePositions(List.of(position, position));
+
+        assertEquals(BulkItemResult.Status.UPDATED, response.results().get(0).status());
+        assertEquals(BulkItemResult.Status.FAILED, response.results().get(1).status());
+        assertEquals(Map.of("id", "duplicate id in request"), response.results().get(1).errors());
+        assertEquals("Updated once", positionRepository.findById(position.getId()).orElseThrow().getTitle());
+    }
+
+    private static Position position(String title) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(1L);
+        Department department = new Department();
+        department.setId(1L);
+        Position position = new Position();
+        position.setTitle(title);
+        position.setDescription("Bulk service test");
+        position.setLocation("Madrid");
+        position.setStatus(PositionStatus.OPEN);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setBudget(new BigDecimal(50000));
+        return position;
+    }
+}
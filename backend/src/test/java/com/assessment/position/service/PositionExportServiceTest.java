@@ -0,0 +1,93 @@
+package com.assessment.position.service;
+
+import com.assessment.position.dto.PositionDataFormat;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PositionExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private PositionRepository positionRepository;
+    private PositionExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        positionRepository = mock(PositionRepository.class);
+        exportService = new PositionExportService(positionRepository, objectMapper);
+        when(positionRepository.streamAllWithDetails(anyInt()))
+                .thenAnswer(invocation -> Stream.of(position(1L, "Engineer, Backend", null), position(2L, "Analyst", LocalDate.of(2030, 1, 31))));
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneJsonDocumentPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(PositionDataFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("Analyst", second.get("title").asText());
+        assertEquals("Engineering", second.get("department").get("name").asText());
+        assertEquals("2030-01-31", second.get("closingDate").asText());
+    }
+
+    @Test
+    void export_AsCsv_ShouldWriteHeaderAndFlattenedRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(PositionDataFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals("id,title,description,location,status,recruiterId,departmentId,budget,closingDate", lines[0]);
+        assertEquals("1,\"Engineer, Backend\",\"Java, Spring\",Remote,OPEN,3,4,100000.00,", lines[1]);
+        assertEquals("2,Analyst,\"Java, Spring\",Remote,OPEN,3,4,100000.00,2030-01-31", lines[2]);
+    }
+
+    private static Position position(Long id, String title, LocalDate closingDate) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(3L);
+        recruiter.setName("Juan Perez");
+        Department department = new Department();
+        department.setId(4L);
+        department.setName("Engineering");
+
+        Position position = new Position();
+        position.setId(id);
+        position.setTitle(title);
+        position.setDescription("Java, Spring");
+        position.setLocation("Remote");
+        position.setStatus(PositionStatus.OPEN);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setBudget(new BigDecimal("100000.00"));
+        position.setClosingDate(closingDate);
+        return position;
+    }
+}
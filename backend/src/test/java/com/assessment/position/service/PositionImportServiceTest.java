@@ -0,0 +1,93 @@
+package com.assessment.position.service;
+
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.ImportSummary;
+import com.assessment.position.dto.PositionDataFormat;
+import com.assessment.position.model.Position;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PositionImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private PositionBulkService positionBulkService;
+    private PositionImportService importService;
+    private final List<List<Position>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        positionBulkService = mock(PositionBulkService.class);
+        importService = new PositionImportService(positionBulkService, objectMapper);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        // Reject blank titles the way Bean Validation would
+        when(positionBulkService.createPositions(anyList())).thenAnswer(invocation -> {
+            List<Position> chunk = List.copyOf(invocation.getArgument(0));
+            chunks.add(chunk);
+            List<BulkItemResult> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(chunk.get(i).getTitle() == null || chunk.get(i).getTitle().isBlank()
+                        ? BulkItemResult.failure(i, null, Map.of("title", "must not be blank"))
+                        : BulkItemResult.success(i, (long) i + 1, BulkItemResult.Status.CREATED));
+            }
+            return BulkResponse.of(results);
+        });
+    }
+
+    @Test
+    void importPositions_FromCsv_ShouldWriteInChunksAndReportFailedRows() throws Exception {
+        String csv = """
+                id,title,description,location,status,recruiterId,departmentId,budget,closingDate
+                ,Engineer,Java,Remote,OPEN,1,1,100000.00,
+                ,,Blank title,Remote,OPEN,1,1,100000.00,
+                ,Analyst,SQL,Madrid,DRAFT,2,3,not-a-number,
+                ,Designer,UX,Lima,OPEN,1,2,50000,2030-01-31
+                """;
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        ImportSummary summary = importService.importPositions(PositionDataFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), report);
+
+        assertEquals(new ImportSummary(4, 2, 2), summary);
+        assertEquals(2, chunks.size());
+        assertEquals("Designer", chunks.get(1).get(0).getTitle());
+        assertEquals(2L, chunks.get(1).get(0).getDepartment().getId());
+
+        String[] lines = report.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"row\":2,\"errors\":{\"title\""), lines[0]);
+        assertTrue(lines[1].startsWith("{\"row\":3,"), lines[1]);
+        assertEquals("{\"summary\":{\"rows\":4,\"imported\":2,\"failed\":2}}", lines[2]);
+    }
+
+    @Test
+    void importPositions_FromNdjson_ShouldStopAtMalformedInput() throws Exception {
+        String ndjson = """
+                {"title":"Engineer","description":"Java","location":"Remote","status":"OPEN","recruiter":{"id":1},"department":{"id":1},"budget":1}
+                {"title":"Broken",
+                """;
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        ImportSummary summary = importService.importPositions(PositionDataFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), report);
+
+        assertEquals(1, summary.imported());
+        assertEquals(1, summary.failed());
+        verify(positionBulkService, times(1)).createPositions(anyList());
+    }
+}
@@ -1,26 +1,39 @@
 package com.assessment.position.service;
 
+import com.assessment.position.dto.CursorPage;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.exception.VersionConflictException;
 import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
 import com.assessment.position.model.Recruiter;
 import com.assessment.position.model.Department;
 import com.assessment.position.model.PositionStatus;
 import com.assessment.position.repository.PositionRepository;
-import com.assessment.position.repository.RecruiterRepository;
-import com.assessment.position.repository.DepartmentRepository;
+import com.assessment.position.search.PositionSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,10 +47,19 @@ class PositionServiceTest {
     private PositionRepository positionRepository;
 
     @Mock
-    private RecruiterRepository recruiterRepository;
+    private ReferenceDataService referenceDataService;
 
     @Mock
-    private DepartmentRepository departmentRepository;
+    private PositionSearchIndex positionSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @InjectMocks
     private PositionService positionService;
@@ -87,6 +109,21 @@ class PositionServiceTest {
         verify(positionRepository).findAllPositionsWithDetails(pageable);
     }
 
+    @Test
+    void getPositionsAfter_WithExtraRow_ShouldReturnNextCursor() {
+        Position second = new Position();
+        second.setId(2L);
+        second.setTitle("Tester");
+        when(positionRepository.findPositionsAfter(PositionSortField.TITLE, Sort.Direction.ASC, null, 2))
+                .thenReturn(List.of(position, second));
+
+        CursorPage<Position> result = positionService.getPositionsAfter(PositionSortField.TITLE, Sort.Direction.ASC, null, 1);
+
+        assertEquals(List.of(position), result.content());
+        assertTrue(result.hasNext());
+        assertNotNull(result.nextCursor());
+    }
+
     @Test
     void getPosition_WithValidId_ShouldReturnPosition() {
         when(positionRepository.findById(1L)).thenReturn(Optional.of(position));
@@ -107,8 +144,8 @@ class PositionServiceTest {
 
     @Test
     void createPosition_WithValidData_ShouldReturnCreatedPosition() {
-        when(recruiterRepository.findById(1L)).thenReturn(Optional.of(recruiter));
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
+        when(referenceDataService.findRecruiter(1L)).thenReturn(Optional.of(recruiter));
+        when(referenceDataService.findDepartment(1L)).thenReturn(Optional.of(department));
         when(positionRepository.save(any(Position.class))).thenReturn(position);
 
         Position result = positionService.createPosition(position);
@@ -116,11 +153,12 @@ class PositionServiceTest {
         assertNotNull(result);
         assertEquals(position.getTitle(), result.getTitle());
         verify(positionRepository).save(any(Position.class));
+        verify(eventPublisher).publishEvent(PositionChangedEvent.created(position));
     }
 
     @Test
     void createPosition_WithInvalidRecruiter_ShouldThrowException() {
-        when(recruiterRepository.findById(1L)).thenReturn(Optional.empty());
+        when(referenceDataService.findRecruiter(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> positionService.createPosition(position));
         verify(positionRepository, never()).save(any(Position.class));
@@ -128,8 +166,8 @@ class PositionServiceTest {
 
     @Test
     void createPosition_WithInvalidDepartment_ShouldThrowException() {
-        when(recruiterRepository.findById(1L)).thenReturn(Optional.of(recruiter));
-        when(departmentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(referenceDataService.findRecruiter(1L)).thenReturn(Optional.of(recruiter));
+        when(referenceDataService.findDepartment(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> positionService.createPosition(position));
         verify(positionRepository, never()).save(any(Position.class));
@@ -137,16 +175,102 @@ class PositionServiceTest {
 
     @Test
     void updatePosition_WithValidData_ShouldReturnUpdatedPosition() {
-        when(positionRepository.existsById(1L)).thenReturn(true);
-        when(recruiterRepository.findById(1L)).thenReturn(Optional.of(recruiter));
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
-        when(positionRepository.save(any(Position.class))).thenReturn(position);
+        when(referenceDataService.findRecruiter(1L)).thenReturn(Optional.of(recruiter));
+        when(referenceDataService.findDepartment(1L)).thenReturn(Optional.of(department));
+        when(positionRepository.updateState(1L, position, null)).thenReturn(1);
+        when(positionRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
 
         Position result = positionService.updatePosition(1L, position);
 
         assertNotNull(result);
         assertEquals(position.getTitle(), result.getTitle());
-        verify(positionRepository).save(any(Position.class));
+        assertEquals(4L, result.getVersion());
+        verify(positionRepository, never()).save(any(Position.class));
+        verify(eventPublisher).publishEvent(PositionChangedEvent.updated(result));
+    }
+
+    @Test
+    void updatePosition_WithExpectedVersion_ShouldNotReadVersionBack() {
+        when(referenceDataService.findRecruiter(1L)).thenReturn(Optional.of(recruiter));
+        when(referenceDataService.findDepartment(1L)).thenReturn(Optional.of(department));
+        when(positionRepository.updateState(1L, position, 2L)).thenReturn(1);
+
+        Position result = positionService.updatePosition(1L, position, 2L);
+
+        assertEquals(3L, result.getVersion());
+        verify(positionRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void updatePosition_WithStaleVersion_ShouldThrowConflict() {
+        when(referenceDataService.findRecruiter(1L)).thenReturn(Optional.of(recruiter));
+        when(referenceDataService.findDepartment(1L)).thenReturn(Optional.of(department));
+        when(positionRepository.updateState(1L, position, 2L)).thenReturn(0);
+        when(positionRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        assertThrows(VersionConflictException.class, () -> positionService.updatePosition(1L, position, 2L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updatePosition_WithUnknownId_ShouldThrowNotFound() {
+        when(referenceDataService.findRecruiter(1L)).thenReturn(Optional.of(recruiter));
+        when(referenceDataService.findDepartment(1L)).thenReturn(Optional.of(department));
+        when(positionRepository.updateState(1L, position, null)).thenReturn(0);
+        when(positionRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> positionService.updatePosition(1L, position));
+    }
+
+    @Test
+    void patchPosition_ShouldWriteOnlyPatchedFields() throws Exception {
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"status\":\"CLOSED\",\"closingDate\":\"2030-01-31\"}");
+        when(positionRepository.patchState(1L, Map.of("status", PositionStatus.CLOSED, "closingDate", LocalDate.of(2030, 1, 31)), 2L))
+                .thenReturn(1);
+        when(positionRepository.findById(1L)).thenReturn(Optional.of(position));
+
+        Position result = positionService.patchPosition(1L, patch, 2L);
+
+        assertSame(position, result);
+        verifyNoInteractions(referenceDataService);
+        verify(eventPublisher).publishEvent(PositionChangedEvent.updated(position));
+    }
+
+    @Test
+    void patchPosition_WithDepartment_ShouldResolveOnlyDepartment() throws Exception {
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"department\":{\"id\":1}}");
+        when(referenceDataService.findDepartment(1L)).thenReturn(Optional.of(department));
+        when(positionRepository.patchState(1L, Map.of("department", department), null)).thenReturn(1);
+        when(positionRepository.findById(1L)).thenReturn(Optional.of(position));
+
+        positionService.patchPosition(1L, patch, null);
+
+        verify(referenceDataService, never()).findRecruiter(any());
+    }
+
+    @Test
+    void patchPosition_WithInvalidValue_ShouldThrowValidationError() throws Exception {
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"title\":\"\",\"budget\":-5}");
+
+        assertThrows(ConstraintViolationException.class, () -> positionService.patchPosition(1L, patch, null));
+        verify(positionRepository, never()).patchState(any(), any(), any());
+    }
+
+    @Test
+    void patchPosition_WithUnknownField_ShouldThrowIllegalArgument() throws Exception {
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"id\":7}");
+
+        assertThrows(IllegalArgumentException.class, () -> positionService.patchPosition(1L, patch, null));
+    }
+
+    @Test
+    void patchPosition_WithStaleVersion_ShouldThrowConflict() throws Exception {
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"location\":\"Madrid\"}");
+        when(positionRepository.patchState(1L, Map.of("location", "Madrid"), 2L)).thenReturn(0);
+        when(positionRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        assertThrows(VersionConflictException.class, () -> positionService.patchPosition(1L, patch, 2L));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -156,5 +280,6 @@ class PositionServiceTest {
         positionService.deletePosition(1L);
 
         verify(positionRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(PositionChangedEvent.deleted(1L));
     }
 } 
\ No newline at end of file
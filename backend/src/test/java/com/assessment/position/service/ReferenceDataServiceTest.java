@@ -0,0 +1,89 @@
+package com.assessment.position.service;
+
+import com.assessment.position.config.CacheConfig;
+import com.assessment.position.dto.CacheStats;
+import com.assessment.position.dto.ReferenceList;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.DepartmentRepository;
+import com.assessment.position.repository.RecruiterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, ReferenceDataService.class})
+class ReferenceDataServiceTest {
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @MockBean
+    private RecruiterRepository recruiterRepository;
+
+    @MockBean
+    private DepartmentRepository departmentRepository;
+
+    private Recruiter recruiter;
+
+    @BeforeEach
+    void setUp() {
+        referenceDataService.evictRecruiters();
+        referenceDataService.evictDepartments();
+
+        recruiter = new Recruiter();
+        recruiter.setId(1L);
+        recruiter.setName("Juan Perez");
+        recruiter.setEmail("jperez@company.com");
+    }
+
+    @Test
+    void findRecruiter_ShouldHitDatabaseOnlyOnce() {
+        when(recruiterRepository.findById(1L)).thenReturn(Optional.of(recruiter));
+
+        assertEquals(Optional.of(recruiter), referenceDataService.findRecruiter(1L));
+        assertEquals(Optional.of(recruiter), referenceDataService.findRecruiter(1L));
+
+        verify(recruiterRepository, times(1)).findById(1L);
+        CacheStats stats = referenceDataService.getCacheStats().stream()
+                .filter(cache -> cache.name().equals(CacheConfig.RECRUITERS))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(stats.hitCount() >= 1);
+    }
+
+    @Test
+    void findRecruiter_ShouldNotCacheMisses() {
+        when(recruiterRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertTrue(referenceDataService.findRecruiter(2L).isEmpty());
+        assertTrue(referenceDataService.findRecruiter(2L).isEmpty());
+
+        verify(recruiterRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void evictRecruiters_ShouldReloadListWithNewEtag() {
+        when(recruiterRepository.findAll()).thenReturn(List.of(recruiter));
+        ReferenceList<Recruiter> first = referenceDataService.getAllRecruiters();
+        assertSame(first, referenceDataService.getAllRecruiters());
+
+        Recruiter other = new Recruiter();
+        other.setId(2L);
+        other.setName("Eliza Beltran");
+        other.setEmail("ebeltran@company.com");
+        when(recruiterRepository.findAll()).thenReturn(List.of(recruiter, other));
+        referenceDataService.evictRecruiters();
+
+        ReferenceList<Recruiter> second = referenceDataService.getAllRecruiters();
+        assertEquals(2, second.items().size());
+        assertNotEquals(first.etag(), second.etag());
+        verify(recruiterRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,237 @@
+package com.assessment.position.snapshot;
+
+import com.assessment.position.dto.PositionFilter;
+import com.assessment.position.event.PositionChangedEvent;
+import com.assessment.position.model.Department;
+import com.assessment.position.model.Position;
+import com.assessment.position.model.PositionSortField;
+import com.assessment.position.model.PositionStatus;
+import com.assessment.position.model.Recruiter;
+import com.assessment.position.repository.PositionRepository;
+import com.assessment.position.routing.PositionShards;
+import com.assessment.position.routing.TextCollation;
+import com.assessment.position.service.ReferenceDataService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PositionSnapshotTest {
+    private static final String[] LOCATIONS = {"Madrid", "Remote", "Lima", "madrid"};
+
+    private final PositionRepository positionRepository = mock(PositionRepository.class);
+    private final ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+    private final List<Position> positions = new ArrayList<>();
+    private PositionSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        for (long id = 1; id <= 300; id++) {
+            positions.add(position(id, "Position " + random.nextInt(40), PositionStatus.values()[random.nextInt(4)],
+                    1L + random.nextInt(3), LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    new BigDecimal(30000 + random.nextInt(20) * 500 + ".50"),
+                    random.nextInt(5) == 0 ? null : LocalDate.of(2030, 1, 1).plusDays(random.nextInt(60))));
+        }
+        when(positionRepository.findPositionsAfter(any(), any(), isNull(), anyInt())).thenReturn(List.copyOf(positions));
+        Department engineering = new Department();
+        engineering.setId(1L);
+        engineering.setName("Engineering");
+        when(referenceDataService.findDepartments(any())).thenReturn(Map.of(1L, engineering));
+        when(referenceDataService.findRecruiters(any())).thenReturn(Map.of());
+
+        snapshot = new PositionSnapshot(positionRepository, referenceDataService, shards(TextCollation.BINARY), new SimpleMeterRegistry(), true, 1000);
+        snapshot.rebuild();
+    }
+
+    @Test
+    void page_ShouldMatchDatabaseOrdering_ForEverySortFieldAndDirection() {
+        List<PositionFilter> filters = List.of(PositionFilter.NONE,
+                new PositionFilter(Set.of(PositionStatus.OPEN, PositionStatus.DRAFT), Set.of(1L, 2L), null, null, null, null),
+                new PositionFilter(null, null, Set.of(3L), Set.of("Madrid", "Nowhere"), null, null),
+                new PositionFilter(null, null, null, null, LocalDate.of(2030, 1, 20), LocalDate.of(2030, 2, 10)));
+        for (PositionSortField sortField : PositionSortField.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                for (PositionFilter filter : filters) {
+                    List<Long> expected = expected(filter, sortField, direction);
+                    for (int page = 0; page < 4; page++) {
+                        PageRequest request = PageRequest.of(page, 25, sortField.toSort(direction));
+                        Page<Position> actual = snapshot.page(filter, request).orElseThrow();
+
+                        String scenario = sortField + " " + direction + " " + filter + " page " + page;
+                        assertEquals(expected.size(), actual.getTotalElements(), scenario);
+                        assertEquals(expected.subList(Math.min(page * 25, expected.size()), Math.min(page * 25 + 25, expected.size())),
+                                actual.getContent().stream().map(Position::getId).toList(), scenario);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void page_ShouldOrderTextInTheDatabaseCollation() {
+        PositionSnapshot caseInsensitive = new PositionSnapshot(positionRepository, referenceDataService,
+                shards(TextCollation.CASE_INSENSITIVE), new SimpleMeterRegistry(), true, 1000);
+        caseInsensitive.rebuild();
+        Comparator<String> collation = TextCollation.CASE_INSENSITIVE.comparator();
+
+        List<Position> page = caseInsensitive.page(PositionFilter.NONE,
+                PageRequest.of(0, 300, PositionSortField.LOCATION.toSort(Sort.Direction.ASC))).orElseThrow().getContent();
+
+        assertEquals(positions.stream()
+                        .sorted(Comparator.comparing(Position::getLocation, collation).thenComparing(Position::getId))
+                        .map(Position::getId).toList(),
+                page.stream().map(Position::getId).toList());
+    }
+
+    @Test
+    void page_ShouldRestoreEveryColumn() {
+        Position first = snapshot.page(PositionFilter.NONE, PageRequest.of(0, 1, PositionSortField.ID.toSort(Sort.Direction.ASC)))
+                .orElseThrow().getContent().get(0);
+        Position original = positions.get(0);
+
+        assertEquals(original.getTitle(), first.getTitle());
+        assertEquals(original.getDescription(), first.getDescription());
+        assertEquals(original.getLocation(), first.getLocation());
+        assertEquals(original.getStatus(), first.getStatus());
+        assertEquals(original.getBudget(), first.getBudget());
+        assertEquals(original.getClosingDate(), first.getClosingDate());
+        assertEquals(original.getVersion(), first.getVersion());
+        assertEquals(original.getRecruiter().getId(), first.getRecruiter().getId());
+        assertEquals(original.getDepartment().getId(), first.getDepartment().getId());
+        if (first.getDepartment().getId() == 1L) {
+            assertEquals("Engineering", first.getDepartment().getName());
+        }
+    }
+
+    @Test
+    void onPositionChanged_ShouldKeepRowsAndListEtagCurrent() {
+        String before = snapshot.listEtag().orElseThrow();
+        snapshot.onPositionChanged(PositionChangedEvent.deleted(300L));
+        snapshot.onPositionChanged(PositionChangedEvent.statusChanged(1L, PositionStatus.ARCHIVED, 2L));
+        Position updated = position(2L, "Renamed", PositionStatus.OPEN, 1L, "Quito", new BigDecimal("1.00"), null);
+        updated.setVersion(4L);
+        snapshot.onPositionChanged(PositionChangedEvent.updated(updated));
+        snapshot.onPositionChanged(PositionChangedEvent.created(
+                position(301L, "New", PositionStatus.DRAFT, 2L, "Quito", new BigDecimal("2.00"), null)));
+
+        String after = snapshot.listEtag().orElseThrow();
+        assertNotEquals(before, after);
+        assertEquals(300, snapshot.size());
+
+        Page<Position> quito = snapshot.page(new PositionFilter(null, null, null, Set.of("Quito"), null, null),
+                PageRequest.of(0, 10, PositionSortField.BUDGET.toSort(Sort.Direction.ASC))).orElseThrow();
+        assertEquals(List.of(2L, 301L), quito.getContent().stream().map(Position::getId).toList());
+        assertEquals("Renamed", quito.getContent().get(0).getTitle());
+
+        Page<Position> archived = snapshot.page(new PositionFilter(Set.of(PositionStatus.ARCHIVED), null, null, null, null, null),
+                PageRequest.of(0, 300, PositionSortField.ID.toSort(Sort.Direction.ASC))).orElseThrow();
+        assertEquals(1L, archived.getContent().get(0).getId());
+        assertEquals(2L, archived.getContent().get(0).getVersion());
+
+        // A delete and a create leave the row count as it was, yet the tag still moves
+        snapshot.onPositionChanged(PositionChangedEvent.deleted(301L));
+        snapshot.onPositionChanged(PositionChangedEvent.created(
+                position(302L, "New", PositionStatus.DRAFT, 2L, "Quito", new BigDecimal("2.00"), null)));
+        assertNotEquals(after, snapshot.listEtag().orElseThrow());
+    }
+
+    @Test
+    void rebuild_ShouldNotCountAStatusChangeTwice_WhenTheScanAlreadyReadIt() {
+        PositionSnapshot rebuilt = new PositionSnapshot(positionRepository, referenceDataService, shards(TextCollation.BINARY), new SimpleMeterRegistry(), true, 1000);
+        Position transitioned = position(1L, "Transitioned", PositionStatus.ARCHIVED, 1L, "Madrid", new BigDecimal("1.00"), null);
+        transitioned.setVersion(2L);
+        List<Position> scanned = new ArrayList<>(positions);
+        scanned.set(0, transitioned);
+        // The transition commits during the scan, after its row was read; its event is queued and replayed
+        when(positionRepository.findPositionsAfter(any(), any(), isNull(), anyInt())).thenAnswer(invocation -> {
+            rebuilt.onPositionChanged(PositionChangedEvent.statusChanged(1L, PositionStatus.ARCHIVED, 2L));
+            return scanned;
+        });
+
+        rebuilt.rebuild();
+
+        Position first = rebuilt.page(PositionFilter.NONE, PageRequest.of(0, 1, PositionSortField.ID.toSort(Sort.Direction.ASC)))
+                .orElseThrow().getContent().get(0);
+        assertEquals(2L, first.getVersion());
+        assertEquals(PositionStatus.ARCHIVED, first.getStatus());
+    }
+
+    @Test
+    void page_ShouldBeEmpty_WhenDisabled() {
+        PositionSnapshot disabled = new PositionSnapshot(positionRepository, referenceDataService, shards(TextCollation.BINARY), new SimpleMeterRegistry(), false, 1000);
+        disabled.rebuild();
+
+        assertTrue(disabled.page(PositionFilter.NONE, PageRequest.of(0, 10)).isEmpty());
+        assertTrue(disabled.listEtag().isEmpty());
+    }
+
+    private static PositionShards shards(TextCollation textCollation) {
+        return new PositionShards("", textCollation, 10000);
+    }
+
+    // The order the database returns: the sort key with NULLs first ascending, then id, both in the requested direction
+    private List<Long> expected(PositionFilter filter, PositionSortField sortField, Sort.Direction direction) {
+        Comparator<Position> byKey = Comparator.comparing(position -> sortKey(sortField, position),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        Comparator<Position> order = byKey.thenComparing(Position::getId);
+        if (direction.isDescending()) {
+            order = order.reversed();
+        }
+        return positions.stream().filter(matches(filter)).sorted(order).map(Position::getId).toList();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<Object> sortKey(PositionSortField sortField, Position position) {
+        Comparable key = sortField.keyOf(position);
+        return key instanceof PositionStatus status ? (Comparable) status.name() : key;
+    }
+
+    private static Predicate<Position> matches(PositionFilter filter) {
+        return position -> (filter.statuses().isEmpty() || filter.statuses().contains(position.getStatus()))
+                && (filter.departmentIds().isEmpty() || filter.departmentIds().contains(position.getDepartment().getId()))
+                && (filter.recruiterIds().isEmpty() || filter.recruiterIds().contains(position.getRecruiter().getId()))
+                && (filter.locations().isEmpty() || filter.locations().contains(position.getLocation()))
+                && (filter.closingFrom() == null || (position.getClosingDate() != null && !position.getClosingDate().isBefore(filter.closingFrom())))
+                && (filter.closingTo() == null || (position.getClosingDate() != null && !position.getClosingDate().isAfter(filter.closingTo())));
+    }
+
+    private static Position position(Long id, String title, PositionStatus status, Long referenceId, String location,
+                                     BigDecimal budget, LocalDate closingDate) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(4 - referenceId);
+        Department department = new Department();
+        department.setId(referenceId);
+        Position position = new Position();
+        position.setId(id);
+        position.setTitle(title);
+        position.setDescription("Description of " + title);
+        position.setStatus(status);
+        position.setRecruiter(recruiter);
+        position.setDepartment(department);
+        position.setLocation(location);
+        position.setBudget(budget);
+        position.setClosingDate(closingDate);
+        position.setVersion(1L);
+        return position;
+    }
+}
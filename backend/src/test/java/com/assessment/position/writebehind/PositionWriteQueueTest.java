@@ -0,0 +1,163 @@
+package com.assessment.position.writebehind;
+
+import com.assessment.position.dto.BulkItemResult;
+import com.assessment.position.dto.BulkResponse;
+import com.assessment.position.dto.PositionWriteStatus;
+import com.assessment.position.exception.WriteQueueFullException;
+import com.assessment.position.model.Position;
+import com.assessment.position.service.PositionBulkService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PositionWriteQueueTest {
+    private final PositionBulkService positionBulkService = mock(PositionBulkService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private PositionWriteQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.stop();
+    }
+
+    @Test
+    void enqueue_ShouldCommitQueuedWritesInBatches_InAcceptanceOrder() throws InterruptedException {
+        when(positionBulkService.createPositions(anyList())).thenAnswer(invocation -> commitAll(invocation.getArgument(0)));
+        queue = start(1000, 3, Duration.ofMillis(200));
+
+        List<PositionWriteStatus> accepted = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            accepted.add(queue.enqueue(position("Position " + i)));
+        }
+        PositionWriteStatus last = awaitDone(accepted.get(6).trackingId());
+
+        assertEquals(PositionWriteStatus.State.COMMITTED, last.state());
+        assertEquals(List.of("Position 0", "Position 1", "Position 2", "Position 3", "Position 4", "Position 5", "Position 6"),
+                batches.stream().flatMap(List::stream).toList());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 3), batches.toString());
+        assertTrue(batches.size() < 7, batches.toString());
+        assertEquals(7, meterRegistry.get("position.write.behind.writes").tag("outcome", "committed").counter().count());
+    }
+
+    @Test
+    void enqueue_ShouldRejectWrites_WhenQueueIsFull() throws InterruptedException {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(positionBulkService.createPositions(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            return commitAll(invocation.getArgument(0));
+        });
+        queue = start(1, 10, Duration.ZERO);
+
+        queue.enqueue(position("In flight"));
+        assertTrue(committing.await(10, TimeUnit.SECONDS));
+        PositionWriteStatus queued = queue.enqueue(position("Queued"));
+
+        assertThrows(WriteQueueFullException.class, () -> queue.enqueue(position("Rejected")));
+        assertEquals(1, meterRegistry.get("position.write.behind.writes").tag("outcome", "rejected").counter().count());
+
+        release.countDown();
+        assertEquals(PositionWriteStatus.State.COMMITTED, awaitDone(queued.trackingId()).state());
+    }
+
+    @Test
+    void enqueue_ShouldCommitIndividually_WhenBatchFails() throws InterruptedException {
+        when(positionBulkService.createPositions(anyList())).thenAnswer(invocation -> {
+            List<Position> positions = invocation.getArgument(0);
+            if (positions.stream().anyMatch(position -> position.getTitle().equals("Broken"))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return commitAll(positions);
+        });
+        queue = start(1000, 10, Duration.ofMillis(200));
+
+        PositionWriteStatus good = queue.enqueue(position("Good"));
+        PositionWriteStatus broken = queue.enqueue(position("Broken"));
+
+        PositionWriteStatus failed = awaitDone(broken.trackingId());
+        assertEquals(PositionWriteStatus.State.FAILED, failed.state());
+        assertEquals(Map.of("error", "constraint violation"), failed.errors());
+        assertEquals(PositionWriteStatus.State.COMMITTED, awaitDone(good.trackingId()).state());
+    }
+
+    @Test
+    void enqueue_ShouldOnlyRetryWrites_WhoseShardRolledBack() throws InterruptedException {
+        when(positionBulkService.createPositions(anyList())).thenAnswer(invocation -> {
+            List<Position> positions = invocation.getArgument(0);
+            batches.add(positions.stream().map(Position::getTitle).toList());
+            return BulkResponse.of(IntStream.range(0, positions.size())
+                    .mapToObj(i -> positions.get(i).getTitle().startsWith("Other shard")
+                            ? BulkItemResult.rolledBack(i, null, "deadlock")
+                            : BulkItemResult.success(i, 100L + i, BulkItemResult.Status.CREATED))
+                    .toList());
+        });
+        queue = start(1000, 10, Duration.ofMillis(200));
+
+        PositionWriteStatus committedFirst = queue.enqueue(position("First shard"));
+        PositionWriteStatus rolledBack = queue.enqueue(position("Other shard"));
+
+        assertEquals(PositionWriteStatus.State.FAILED, awaitDone(rolledBack.trackingId()).state());
+        assertEquals(PositionWriteStatus.State.COMMITTED, awaitDone(committedFirst.trackingId()).state());
+        assertEquals(List.of(List.of("First shard", "Other shard"), List.of("Other shard")), batches);
+        assertEquals(1, meterRegistry.get("position.write.behind.writes").tag("outcome", "committed").counter().count());
+    }
+
+    @Test
+    void enqueue_ShouldRejectWrites_WhenDisabled() {
+        queue = new PositionWriteQueue(positionBulkService, meterRegistry, false, 10, 10, Duration.ZERO, Duration.ofHours(1));
+        queue.start();
+
+        assertFalse(queue.isEnabled());
+        assertThrows(WriteQueueFullException.class, () -> queue.enqueue(position("Ignored")));
+    }
+
+    private PositionWriteQueue start(int capacity, int maxBatch, Duration linger) {
+        PositionWriteQueue started = new PositionWriteQueue(positionBulkService, meterRegistry, true, capacity, maxBatch,
+                linger, Duration.ofHours(1));
+        started.start();
+        return started;
+    }
+
+    private BulkResponse commitAll(List<Position> positions) {
+        batches.add(positions.stream().map(Position::getTitle).toList());
+        return BulkResponse.of(IntStream.range(0, positions.size())
+                .mapToObj(i -> BulkItemResult.success(i, 100L + i, BulkItemResult.Status.CREATED))
+                .toList());
+    }
+
+    private PositionWriteStatus awaitDone(String trackingId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            PositionWriteStatus status = queue.status(trackingId).orElseThrow();
+            if (status.state() != PositionWriteStatus.State.QUEUED) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Write " + trackingId + " was not committed in time");
+        return null;
+    }
+
+    private static Position position(String title) {
+        Position position = new Position();
+        position.setTitle(title);
+        return position;
+    }
+}
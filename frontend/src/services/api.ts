@@ -6,6 +6,8 @@ import env from '../config/env';
 
 const axiosInstance = axios.create({
     baseURL: env.API_URL,
+    // Send the client_id cookie the API uses to keep a client's reads on the primary after its writes
+    withCredentials: true,
     headers: {
         'Content-Type': 'application/json',
         'X-API-KEY': env.API_KEY